@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import net.runelite.pluginhub.apirecorder.API;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The api engine as {@code Plugin} uses it: the client api is decoded once, then
+ * every plugin's api is diffed against it and checked for disallowed apis
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class APIBenchmark
+{
+	// apis used by a synthetic plugin; the template plugin uses ~100, large plugins ~10000
+	@Param({"100", "1000", "10000"})
+	public int pluginSize;
+
+	private byte[] clientEncoded;
+	private API client;
+
+	private byte[] pluginEncoded;
+	private API plugin;
+
+	private byte[] disallowedText;
+	private Map<String, String> disallowed;
+
+	@Setup
+	public void setup() throws IOException
+	{
+		client = ClientAPIs.load();
+		clientEncoded = encode(client);
+
+		Random r = new Random(pluginSize);
+		List<String> clientApis = new ArrayList<>(client.getApis());
+		clientApis.sort(null);
+
+		// mostly client apis, and some of its own and its dependencies
+		Set<String> pluginApis = new HashSet<>();
+		while (pluginApis.size() < pluginSize)
+		{
+			pluginApis.add(r.nextInt(10) == 0
+				? "Lcom/example/plugin/Class" + r.nextInt(pluginSize) + ";.method" + pluginApis.size() + "()V:b"
+				: clientApis.get(r.nextInt(clientApis.size())));
+		}
+		plugin = new API(pluginApis);
+		pluginEncoded = encode(plugin);
+
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++)
+		{
+			if (i % 20 == 0)
+			{
+				sb.append("# disallowed for reason ").append(i).append('\n');
+			}
+			sb.append(clientApis.get(r.nextInt(clientApis.size()))).append('\n');
+		}
+		sb.append("# whole class\n");
+		String clazz = clientApis.get(r.nextInt(clientApis.size()));
+		sb.append("/^").append(Pattern.quote(clazz.substring(0, clazz.indexOf(';') + 1))).append("/\n");
+		disallowedText = sb.toString().getBytes(StandardCharsets.UTF_8);
+		disallowed = client.parseCommented(new ByteArrayInputStream(disallowedText), true);
+	}
+
+	private static byte[] encode(API api) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		api.encode(baos);
+		return baos.toByteArray();
+	}
+
+	@Benchmark
+	public API decodeClient()
+	{
+		return API.decode(new ByteArrayInputStream(clientEncoded));
+	}
+
+	@Benchmark
+	public API decodePlugin()
+	{
+		return API.decode(new ByteArrayInputStream(pluginEncoded));
+	}
+
+	@Benchmark
+	public int encodePlugin() throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		plugin.encode(baos);
+		return baos.size();
+	}
+
+	@Benchmark
+	public long missingFrom()
+	{
+		return plugin.missingFrom(client).count();
+	}
+
+	@Benchmark
+	public long in()
+	{
+		return plugin.in(client).count();
+	}
+
+	@Benchmark
+	public Map<String, String> parseCommented() throws IOException
+	{
+		return client.parseCommented(new ByteArrayInputStream(disallowedText), true);
+	}
+
+	@Benchmark
+	public Set<String> disallowed()
+	{
+		return plugin.disallowed(disallowed);
+	}
+
+	static class ClientAPIs
+	{
+		// roughly the size of the runelite client, api and http-api
+		private static final int SYNTHETIC_CLASSES = 4000;
+
+		/**
+		 * the api recorded from the real client by {@code :apirecorder:api}, or a synthetic one of similar size
+		 */
+		static API load() throws IOException
+		{
+			String path = System.getProperty("pluginhub.jmh.clientApi");
+			if (path != null && new File(path).exists())
+			{
+				try (InputStream is = new FileInputStream(path))
+				{
+					return API.decode(is);
+				}
+			}
+
+			Random r = new Random(0);
+			API api = new API();
+			for (int c = 0; c < SYNTHETIC_CLASSES; c++)
+			{
+				String clazz = "Lnet/runelite/client/plugins/package" + (c % 150) + "/Class" + c + ";";
+				api.recordClass(0x0001, clazz);
+				for (int m = r.nextInt(30); m >= 0; m--)
+				{
+					api.recordMethod(0x0001, clazz, "method" + m, "(ILjava/lang/String;)Lnet/runelite/api/Point;");
+				}
+				for (int f = r.nextInt(8); f >= 0; f--)
+				{
+					api.recordField(0x0019, clazz, "FIELD_" + f, "I", f);
+				}
+			}
+			return api;
+		}
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import javax.imageio.ImageIO;
+import net.runelite.pluginhub.uploader.SourceIndex;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The steps {@link Plugin#build} runs after gradle finishes, over generated plugin
+ * repositories and jars from the size of the template plugin up to a 10MiB shaded jar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostBuildBenchmark
+{
+	@Param({"small", "medium", "large"})
+	public String size;
+
+	private Path dir;
+	private Path repo;
+	private File jar;
+	private File out;
+	private byte[] icon;
+	private byte[] displayData;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		long jarSize;
+		switch (size)
+		{
+			case "small":
+				jarSize = 32 * 1024;
+				break;
+			case "medium":
+				jarSize = 1024 * 1024;
+				break;
+			case "large":
+				jarSize = 10 * 1024 * 1024;
+				break;
+			default:
+				throw new IllegalArgumentException(size);
+		}
+
+		dir = Files.createTempDirectory("postbuild");
+		repo = dir.resolve("repo");
+		jar = dir.resolve("plugin.jar").toFile();
+		out = dir.resolve("plugin2.jar").toFile();
+
+		Random r = new Random(0);
+		writeRepo(repo, jarSize, r);
+		writeJar(jar, jarSize, r);
+		icon = writeIcon(r);
+		displayData = ("{\"internalName\":\"example\",\"displayName\":\"Example\",\"author\":\"Abex\","
+			+ "\"description\":\"An example plugin\",\"tags\":[\"example\"],\"plugins\":[\"com.example.ExamplePlugin\"]}")
+			.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		MoreFiles.deleteRecursively(dir, RecursiveDeleteOption.ALLOW_INSECURE);
+	}
+
+	@Benchmark
+	public SourceIndex sourceArchive() throws IOException
+	{
+		return SourceArchive.write(repo, out, 10 * 1024 * 1024, (zipPath, length) ->
+		{
+		});
+	}
+
+	@Benchmark
+	public JarFinalizer.Result finalizeJar() throws IOException
+	{
+		return JarFinalizer.write(jar, out, "runelite_plugin.json", displayData);
+	}
+
+	@Benchmark
+	public JarFinalizer.Result finalizeJarRewrite() throws IOException
+	{
+		return JarFinalizer.rewrite(jar, out, "runelite_plugin.json", displayData);
+	}
+
+	@Benchmark
+	public HashCode sha256() throws IOException
+	{
+		return MoreFiles.asByteSource(jar.toPath()).hash(Hashing.sha256());
+	}
+
+	@Benchmark
+	public JarInspector inspectJar() throws IOException
+	{
+		return JarInspector.inspect(jar);
+	}
+
+	@Benchmark
+	public PngHeader iconHeader() throws IOException
+	{
+		return PngHeader.read(icon);
+	}
+
+	@Benchmark
+	public BufferedImage iconImageIO() throws IOException
+	{
+		return ImageIO.read(new ByteArrayInputStream(icon));
+	}
+
+	private static void writeRepo(Path repo, long size, Random r) throws IOException
+	{
+		Path src = repo.resolve("src/main/java/com/example");
+		Files.createDirectories(src);
+		Files.createDirectories(repo.resolve(".git/objects"));
+		Files.write(repo.resolve("build.gradle"), "plugins {\n\tid 'java'\n}\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(repo.resolve("README.md"), "# Example\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(repo.resolve(".git/objects/pack"), new byte[(int) Math.min(size, 1024 * 1024)]);
+
+		// source is roughly 4x the size of the compressed classes it compiles to
+		for (int i = 0; size > 0; i++)
+		{
+			StringBuilder sb = new StringBuilder("package com.example;\n\npublic class Class" + i + "\n{\n");
+			for (int m = 0; m < 20; m++)
+			{
+				sb.append("\tpublic int method").append(m).append("(int value)\n\t{\n\t\treturn value * ")
+					.append(r.nextInt()).append(";\n\t}\n\n");
+			}
+			sb.append("}\n");
+			byte[] data = sb.toString().getBytes(StandardCharsets.UTF_8);
+			Files.write(src.resolve("Class" + i + ".java"), data);
+			size -= data.length / 4;
+		}
+	}
+
+	private static void writeJar(File jar, long size, Random r) throws IOException
+	{
+		try (FileOutputStream fos = new FileOutputStream(jar);
+			JarOutputStream jos = new JarOutputStream(fos))
+		{
+			jos.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+			jos.write("Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+
+			for (int i = 0; fos.getChannel().position() < size; i++)
+			{
+				// shaded jars are mostly dependency classes
+				String name = (i == 0 ? "com/example/ExamplePlugin" : "com/example/shaded/lib" + (i % 40) + "/Class" + i);
+				jos.putNextEntry(new ZipEntry(name + ".class"));
+				jos.write(writeClass(name, r));
+			}
+		}
+	}
+
+	private static byte[] writeClass(String name, Random r)
+	{
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+		for (int m = 0; m < 10; m++)
+		{
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "method" + m, "(Lnet/runelite/api/Client;)Ljava/lang/String;", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "net/runelite/api/Client", "getGameState", "()Lnet/runelite/api/GameState;", true);
+			mv.visitInsn(Opcodes.POP);
+			mv.visitLdcInsn("string " + r.nextLong());
+			mv.visitInsn(Opcodes.ARETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static byte[] writeIcon(Random r) throws IOException
+	{
+		BufferedImage img = new BufferedImage(48, 72, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < img.getHeight(); y++)
+		{
+			for (int x = 0; x < img.getWidth(); x++)
+			{
+				img.setRGB(x, y, r.nextInt());
+			}
+		}
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ImageIO.write(img, "png", baos);
+		return baos.toByteArray();
+	}
+}
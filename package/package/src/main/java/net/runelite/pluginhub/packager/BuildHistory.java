@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.JsonParseException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.pluginhub.uploader.Util;
+
+/**
+ * Per plugin stage timings and jar sizes from previous runs, stored as one json
+ * record per line. Used to flag plugins that got slower or bigger than they used
+ * to be, and to estimate how long a plugin will take to build.
+ */
+@Slf4j
+class BuildHistory
+{
+	// records kept per plugin when the file is rewritten
+	private static final int RETAINED_RECORDS = 20;
+	// records needed before we trust a plugin's history
+	private static final int MIN_RECORDS = 3;
+	// build time increases smaller than this are noise
+	private static final long MIN_REGRESSION_MS = 10_000;
+
+	@Data
+	static class Record
+	{
+		private String plugin;
+		private String commit;
+		private String runeliteVersion;
+		private long time;
+		private boolean success;
+		private Map<String, Long> stagesMS = new LinkedHashMap<>();
+		private long jarSize;
+
+		long totalMS()
+		{
+			return stagesMS.values().stream().mapToLong(Long::longValue).sum();
+		}
+	}
+
+	private final File file;
+	private final Map<String, List<Record>> history = new HashMap<>();
+	private final List<Record> added = new ArrayList<>();
+
+	private BuildHistory(File file)
+	{
+		this.file = file;
+	}
+
+	static BuildHistory load(File file) throws IOException
+	{
+		BuildHistory h = new BuildHistory(file);
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))
+		{
+			for (String line; (line = br.readLine()) != null; )
+			{
+				if (line.isEmpty())
+				{
+					continue;
+				}
+
+				try
+				{
+					Record r = Util.GSON.fromJson(line, Record.class);
+					h.history.computeIfAbsent(r.getPlugin(), k -> new ArrayList<>()).add(r);
+				}
+				catch (JsonParseException e)
+				{
+					log.warn("skipping corrupt build history record: {}", line, e);
+				}
+			}
+		}
+		catch (FileNotFoundException e)
+		{
+			// first run
+		}
+		return h;
+	}
+
+	synchronized void add(Record record)
+	{
+		added.add(record);
+	}
+
+	/**
+	 * the median time the plugin's last successful builds spent in all stages, or -1 if it doesn't have enough history
+	 */
+	long estimateMillis(String plugin)
+	{
+		return median(successful(plugin), Record::totalMS);
+	}
+
+	/**
+	 * plugins built this run whose build time or jar size grew past {@code threshold} times their median
+	 */
+	synchronized List<String> regressions(double threshold)
+	{
+		List<String> regressions = new ArrayList<>();
+		for (Record r : added)
+		{
+			if (!r.isSuccess())
+			{
+				continue;
+			}
+
+			List<Record> past = successful(r.getPlugin());
+			long buildMS = r.getStagesMS().getOrDefault("build", 0L);
+			long medianBuildMS = median(past, p -> p.getStagesMS().getOrDefault("build", 0L));
+			if (medianBuildMS >= 0 && buildMS > medianBuildMS * threshold && buildMS - medianBuildMS > MIN_REGRESSION_MS)
+			{
+				regressions.add(String.format("%s: build took %dms, usually %dms", r.getPlugin(), buildMS, medianBuildMS));
+			}
+
+			long medianJarSize = median(past, Record::getJarSize);
+			if (medianJarSize > 0 && r.getJarSize() > medianJarSize * threshold)
+			{
+				regressions.add(String.format("%s: jar is %d bytes, usually %d bytes", r.getPlugin(), r.getJarSize(), medianJarSize));
+			}
+		}
+		return regressions;
+	}
+
+	/**
+	 * writes the old and added records, dropping each plugin's oldest past {@link #RETAINED_RECORDS}
+	 */
+	synchronized void save() throws IOException
+	{
+		Map<String, List<Record>> all = new LinkedHashMap<>();
+		history.forEach((k, v) -> all.put(k, new ArrayList<>(v)));
+		for (Record r : added)
+		{
+			all.computeIfAbsent(r.getPlugin(), k -> new ArrayList<>()).add(r);
+		}
+
+		File tmp = new File(file.getPath() + ".tmp");
+		try (Writer w = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))
+		{
+			for (List<Record> records : all.values())
+			{
+				for (Record r : records.subList(Math.max(0, records.size() - RETAINED_RECORDS), records.size()))
+				{
+					w.write(Util.GSON.toJson(r));
+					w.write('\n');
+				}
+			}
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private List<Record> successful(String plugin)
+	{
+		return history.getOrDefault(plugin, new ArrayList<>()).stream()
+			.filter(Record::isSuccess)
+			.collect(Collectors.toList());
+	}
+
+	private static long median(List<Record> records, ToLongFunction<Record> value)
+	{
+		if (records.size() < MIN_RECORDS)
+		{
+			return -1;
+		}
+
+		long[] values = records.stream()
+			.skip(Math.max(0, records.size() - RETAINED_RECORDS))
+			.mapToLong(value)
+			.sorted()
+			.toArray();
+		return values[values.length / 2];
+	}
+}
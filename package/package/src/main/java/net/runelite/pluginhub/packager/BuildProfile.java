@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.Getter;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.configuration.ProjectConfigurationFinishEvent;
+import org.gradle.tooling.events.download.FileDownloadFinishEvent;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+
+/**
+ * Where a gradle build spent its time, collected from tooling api progress events.
+ * Categories nest inside each other (a dependency resolution or download can happen
+ * while configuring a project or running a task), so they do not sum to the total.
+ */
+class BuildProfile implements ProgressListener
+{
+	// GENERIC is the chattiest type, but dependency resolution is only reported as a generic
+	// build operation, and it is the only source of the RESOLVE category
+	static final Set<OperationType> OPERATION_TYPES = EnumSet.of(
+		OperationType.GENERIC,
+		OperationType.PROJECT_CONFIGURATION,
+		OperationType.TASK,
+		OperationType.FILE_DOWNLOAD);
+
+	static final String CONFIGURATION = "configuration";
+	static final String RESOLVE = "resolve";
+	static final String DOWNLOAD = "download";
+	static final String TASK = "task";
+
+	@Getter
+	static class Timing
+	{
+		private int count;
+		private long millis;
+		private long bytes;
+		// tasks that were up-to-date, from cache or skipped
+		private int avoided;
+
+		void add(Timing other)
+		{
+			count += other.count;
+			millis += other.millis;
+			bytes += other.bytes;
+			avoided += other.avoided;
+		}
+	}
+
+	// category -> operation name -> timing
+	private final Map<String, Map<String, Timing>> timings = new TreeMap<>();
+
+	@Override
+	public void statusChanged(ProgressEvent event)
+	{
+		if (!(event instanceof FinishEvent))
+		{
+			return;
+		}
+
+		FinishEvent finish = (FinishEvent) event;
+		long millis = finish.getResult().getEndTime() - finish.getResult().getStartTime();
+		if (event instanceof TaskFinishEvent)
+		{
+			TaskFinishEvent task = (TaskFinishEvent) event;
+			boolean avoided = task.getResult() instanceof TaskSkippedResult
+				|| (task.getResult() instanceof TaskSuccessResult
+				&& (((TaskSuccessResult) task.getResult()).isUpToDate() || ((TaskSuccessResult) task.getResult()).isFromCache()));
+			record(TASK, task.getDescriptor().getTaskPath(), millis, 0, avoided);
+		}
+		else if (event instanceof ProjectConfigurationFinishEvent)
+		{
+			record(CONFIGURATION, ((ProjectConfigurationFinishEvent) event).getDescriptor().getProject().getProjectPath(), millis, 0, false);
+		}
+		else if (event instanceof FileDownloadFinishEvent)
+		{
+			FileDownloadFinishEvent download = (FileDownloadFinishEvent) event;
+			String host = download.getDescriptor().getUri().getHost();
+			record(DOWNLOAD, host == null ? "local" : host, millis, download.getResult().getBytesDownloaded(), false);
+		}
+		else
+		{
+			// there is no specific event type for dependency resolution, only these generic build operations
+			String name = event.getDescriptor().getName();
+			if (name.startsWith("Resolve dependencies of ") || name.startsWith("Resolve files of "))
+			{
+				// eg "Resolve dependencies of :compileClasspath"
+				record(RESOLVE, name.substring(name.lastIndexOf(' ') + 1), millis, 0, false);
+			}
+		}
+	}
+
+	synchronized void record(String category, String name, long millis, long bytes, boolean avoided)
+	{
+		Timing t = timings.computeIfAbsent(category, k -> new TreeMap<>())
+			.computeIfAbsent(name, k -> new Timing());
+		t.count++;
+		t.millis += millis;
+		t.bytes += bytes;
+		if (avoided)
+		{
+			t.avoided++;
+		}
+	}
+
+	synchronized Timing total(String category)
+	{
+		Timing total = new Timing();
+		Map<String, Timing> ops = timings.get(category);
+		if (ops != null)
+		{
+			ops.values().forEach(total::add);
+		}
+		return total;
+	}
+
+	synchronized void merge(BuildProfile other)
+	{
+		synchronized (other)
+		{
+			for (Map.Entry<String, Map<String, Timing>> category : other.timings.entrySet())
+			{
+				Map<String, Timing> ops = timings.computeIfAbsent(category.getKey(), k -> new TreeMap<>());
+				for (Map.Entry<String, Timing> op : category.getValue().entrySet())
+				{
+					ops.computeIfAbsent(op.getKey(), k -> new Timing()).add(op.getValue());
+				}
+			}
+		}
+	}
+
+	/**
+	 * a human readable summary, with the slowest operations of each category first
+	 */
+	synchronized String summary()
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, Map<String, Timing>> category : timings.entrySet())
+		{
+			Timing total = total(category.getKey());
+			sb.append(category.getKey()).append(": ").append(total.millis).append("ms");
+			if (total.bytes > 0)
+			{
+				sb.append(", ").append(total.bytes / 1024).append("KiB");
+			}
+			sb.append('\n');
+
+			List<Map.Entry<String, Timing>> ops = new ArrayList<>(category.getValue().entrySet());
+			ops.sort(Comparator.comparingLong((Map.Entry<String, Timing> e) -> e.getValue().millis).reversed());
+			for (Map.Entry<String, Timing> op : ops)
+			{
+				Timing t = op.getValue();
+				sb.append("  ").append(op.getKey()).append(": ").append(t.millis).append("ms");
+				if (t.count > 1)
+				{
+					sb.append(" (").append(t.count).append("x)");
+				}
+				if (t.avoided > 0)
+				{
+					sb.append(" (").append(t.avoided).append(" up-to-date)");
+				}
+				sb.append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	synchronized void writeJson(Writer out) throws IOException
+	{
+		JsonWriter w = new JsonWriter(out);
+		w.setIndent("\t");
+		w.beginObject();
+		for (Map.Entry<String, Map<String, Timing>> category : timings.entrySet())
+		{
+			w.name(category.getKey()).beginObject();
+			for (Map.Entry<String, Timing> op : category.getValue().entrySet())
+			{
+				Timing t = op.getValue();
+				w.name(op.getKey()).beginObject();
+				w.name("count").value(t.count);
+				w.name("millis").value(t.millis);
+				if (t.bytes > 0)
+				{
+					w.name("bytes").value(t.bytes);
+				}
+				if (t.avoided > 0)
+				{
+					w.name("avoided").value(t.avoided);
+				}
+				w.endObject();
+			}
+			w.endObject();
+		}
+		w.endObject();
+		w.flush();
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import net.runelite.pluginhub.uploader.ArtifactStore;
+
+/**
+ * Streams a log file, keeping only its start and end if it is larger than the limit
+ */
+class CappedLog
+{
+	private static final String TEXT = "text/plain; charset=utf-8";
+
+	private CappedLog()
+	{
+	}
+
+	static void copy(File file, long limit, OutputStream out) throws IOException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+		{
+			long length = raf.length();
+			InputStream is = Channels.newInputStream(raf.getChannel());
+			if (length <= limit)
+			{
+				ByteStreams.copy(ByteStreams.limit(is, length), out);
+				return;
+			}
+
+			long head = limit / 2;
+			ByteStreams.copy(ByteStreams.limit(is, head), out);
+
+			// start the tail on a line boundary if there is one nearby
+			long tailStart = length - (limit - head);
+			raf.seek(tailStart);
+			for (int i = 0; i < 1024; i++)
+			{
+				int b = raf.read();
+				if (b == -1 || b == '\n')
+				{
+					tailStart = raf.getFilePointer();
+					break;
+				}
+			}
+
+			out.write(("\n... " + (tailStart - head) + " bytes truncated ...\n").getBytes(StandardCharsets.UTF_8));
+			raf.seek(tailStart);
+			ByteStreams.copy(ByteStreams.limit(is, length - tailStart), out);
+		}
+	}
+
+	/**
+	 * The log gzip compressed, stored with {@code Content-Encoding: gzip} so it is still shown as text
+	 */
+	static ArtifactStore.Content gzipContent(File file, long limit)
+	{
+		return new ArtifactStore.Content()
+		{
+			@Override
+			public String contentType()
+			{
+				return TEXT;
+			}
+
+			@Override
+			public String contentEncoding()
+			{
+				return "gzip";
+			}
+
+			@Override
+			public void writeTo(OutputStream out) throws IOException
+			{
+				GZIPOutputStream gos = new GZIPOutputStream(out);
+				copy(file, limit, gos);
+				gos.finish();
+			}
+		};
+	}
+}
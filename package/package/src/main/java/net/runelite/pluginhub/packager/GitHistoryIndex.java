@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * The first and last commit times of every file in a directory, as
+ * {@code git log --follow} would give them, but from a single walk of the history
+ */
+class GitHistoryIndex
+{
+	@Getter
+	static class Entry
+	{
+		private long createdAt;
+		private long lastUpdatedAt;
+	}
+
+	private final File directory;
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private GitHistoryIndex(File directory)
+	{
+		this.directory = directory;
+	}
+
+	static GitHistoryIndex build(File directory) throws IOException
+	{
+		SubprocessEvent event = SubprocessEvent.begin(null, "git log");
+		Process gitlog = new ProcessBuilder("git", "log", "--format=%x00%ct", "--name-status", "-M", "--relative", "--", ".")
+			.redirectOutput(ProcessBuilder.Redirect.PIPE)
+			.redirectError(ProcessBuilder.Redirect.INHERIT)
+			.directory(directory)
+			.start();
+
+		GitHistoryIndex index;
+		try (Reader r = new InputStreamReader(gitlog.getInputStream(), StandardCharsets.UTF_8))
+		{
+			index = parse(directory, r);
+		}
+
+		try
+		{
+			if (!gitlog.waitFor(2, TimeUnit.MINUTES))
+			{
+				gitlog.destroy();
+				event.outcome = SubprocessEvent.TIMEOUT;
+				event.commit();
+				throw new IOException("git log did not complete in a reasonable time");
+			}
+		}
+		catch (InterruptedException e)
+		{
+			throw new RuntimeException(e);
+		}
+		event.exitCode = gitlog.exitValue();
+		event.outcome = gitlog.exitValue() == 0 ? SubprocessEvent.SUCCESS : SubprocessEvent.FAILURE;
+		event.commit();
+		if (gitlog.exitValue() != 0)
+		{
+			throw new IOException("git log exited with " + gitlog.exitValue());
+		}
+
+		return index;
+	}
+
+	static GitHistoryIndex parse(File directory, Reader reader) throws IOException
+	{
+		GitHistoryIndex index = new GitHistoryIndex(directory);
+
+		// history is walked newest first, so once a file is renamed all the
+		// older changes to its original path also belong to the renamed file
+		Map<String, Set<String>> renamedTo = new HashMap<>();
+		long time = -1;
+		BufferedReader br = new BufferedReader(reader);
+		for (String line; (line = br.readLine()) != null; )
+		{
+			if (line.isEmpty())
+			{
+				continue;
+			}
+
+			if (line.charAt(0) == '\0')
+			{
+				time = Long.parseLong(line.substring(1).trim());
+				continue;
+			}
+
+			String[] parts = line.split("\t");
+			if (time == -1 || parts.length < 2)
+			{
+				throw new IOException("unexpected git log line \"" + line + "\"");
+			}
+
+			Set<String> names = index.record(parts[parts.length - 1], renamedTo, time);
+			if (parts[0].startsWith("R") && parts.length == 3)
+			{
+				index.record(parts[1], renamedTo, time);
+				renamedTo.computeIfAbsent(parts[1], k -> new HashSet<>()).addAll(names);
+			}
+		}
+
+		return index;
+	}
+
+	private Set<String> record(String path, Map<String, Set<String>> renamedTo, long time)
+	{
+		Set<String> names = new HashSet<>();
+		names.add(path);
+		names.addAll(renamedTo.getOrDefault(path, Collections.emptySet()));
+		for (String name : names)
+		{
+			Entry e = entries.get(name);
+			if (e == null)
+			{
+				e = new Entry();
+				e.lastUpdatedAt = time;
+				entries.put(name, e);
+			}
+			e.createdAt = time;
+		}
+		return names;
+	}
+
+	@Nullable
+	Entry get(File file) throws IOException
+	{
+		if (!file.getCanonicalFile().getParentFile().equals(directory.getCanonicalFile()))
+		{
+			return null;
+		}
+
+		return entries.get(file.getName());
+	}
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Appends an entry to a jar without inflating and deflating all of the existing
+ * entries. The existing local entries are copied verbatim, so all of their offsets
+ * stay the same, then the new entry and the central directory are written after them.
+ * The hash and size of the output are calculated while it is written.
+ */
+class JarFinalizer
+{
+	private static final int LOCAL_HEADER_SIG = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+	private static final int END_SIG = 0x06054b50;
+	private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+
+	private static final int FLAG_UTF8 = 0x800;
+	private static final int VERSION_DEFLATED = 20;
+	// 1980-01-01 00:00, which is what a ZipEntry with a time of 0 gets
+	private static final int DOS_TIME_EPOCH = 0x00210000;
+
+	@Value
+	static class Result
+	{
+		long size;
+		byte[] sha256;
+	}
+
+	private JarFinalizer()
+	{
+	}
+
+	static Result write(File in, File out, String entryName, byte[] entryData) throws IOException
+	{
+		try (FileChannel fc = FileChannel.open(in.toPath(), StandardOpenOption.READ))
+		{
+			ByteBuffer end = findEnd(fc);
+			if (end != null)
+			{
+				try (HashingCountingStream os = new HashingCountingStream(out))
+				{
+					append(fc, end, os, entryName, entryData);
+					return os.result();
+				}
+			}
+		}
+
+		// zip64 or something else we don't want to deal with by hand
+		return rewrite(in, out, entryName, entryData);
+	}
+
+	@Nullable
+	private static ByteBuffer findEnd(FileChannel fc) throws IOException
+	{
+		long size = fc.size();
+		int tailLen = (int) Math.min(size, END_SIZE + 0xFFFF);
+		ByteBuffer tail = ByteBuffer.allocate(tailLen).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(fc, tail, size - tailLen);
+
+		for (int i = tailLen - END_SIZE; i >= 0; i--)
+		{
+			if (tail.getInt(i) == END_SIG && i + END_SIZE + (tail.getShort(i + 20) & 0xFFFF) == tailLen)
+			{
+				if (i >= ZIP64_LOCATOR_SIZE && tail.getInt(i - ZIP64_LOCATOR_SIZE) == ZIP64_LOCATOR_SIG)
+				{
+					return null;
+				}
+
+				long endPos = size - tailLen + i;
+				ByteBuffer end = tail.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+				end.position(i);
+				end = end.slice().order(ByteOrder.LITTLE_ENDIAN);
+				if (end.getShort(4) != 0 || end.getShort(6) != 0
+					|| end.getShort(8) != end.getShort(10)
+					|| (end.getShort(10) & 0xFFFF) >= 0xFFFF - 1
+					|| end.getInt(12) == -1 || end.getInt(16) == -1
+					|| Integer.toUnsignedLong(end.getInt(16)) + Integer.toUnsignedLong(end.getInt(12)) > endPos)
+				{
+					return null;
+				}
+				return end;
+			}
+		}
+
+		throw new ZipException("missing end of central directory");
+	}
+
+	private static void append(FileChannel fc, ByteBuffer end, OutputStream os, String entryName, byte[] entryData) throws IOException
+	{
+		int entries = end.getShort(10) & 0xFFFF;
+		long cdSize = Integer.toUnsignedLong(end.getInt(12));
+		long cdOffset = Integer.toUnsignedLong(end.getInt(16));
+		ByteBuffer cd = ByteBuffer.allocate((int) cdSize).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(fc, cd, cdOffset);
+
+		byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer localHeader = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0, off = 0; i < entries; i++)
+		{
+			if (off + CENTRAL_HEADER_SIZE > cdSize || cd.getInt(off) != CENTRAL_HEADER_SIG)
+			{
+				throw new ZipException("invalid central directory");
+			}
+
+			int nameLen = cd.getShort(off + 28) & 0xFFFF;
+			int extraLen = cd.getShort(off + 30) & 0xFFFF;
+			int commentLen = cd.getShort(off + 32) & 0xFFFF;
+			long localOffset = Integer.toUnsignedLong(cd.getInt(off + 42));
+			if (off + CENTRAL_HEADER_SIZE + nameLen > cdSize)
+			{
+				throw new ZipException("invalid central directory");
+			}
+			if (nameEquals(cd, off + CENTRAL_HEADER_SIZE, nameLen, name))
+			{
+				throw new ZipException("duplicate entry: " + entryName);
+			}
+
+			localHeader.clear();
+			if (localOffset + LOCAL_HEADER_SIZE > cdOffset)
+			{
+				throw new ZipException("invalid entry offset");
+			}
+			readFully(fc, localHeader, localOffset);
+			if (localHeader.getInt(0) != LOCAL_HEADER_SIG)
+			{
+				throw new ZipException("invalid local header");
+			}
+
+			off += CENTRAL_HEADER_SIZE + nameLen + extraLen + commentLen;
+		}
+
+		// all of the existing entries, verbatim
+		copy(fc, 0, cdOffset, os);
+
+		CRC32 crc = new CRC32();
+		crc.update(entryData);
+		byte[] compressed = deflate(entryData);
+
+		ByteBuffer local = ByteBuffer.allocate(LOCAL_HEADER_SIZE + name.length).order(ByteOrder.LITTLE_ENDIAN);
+		local.putInt(LOCAL_HEADER_SIG)
+			.putShort((short) VERSION_DEFLATED)
+			.putShort((short) FLAG_UTF8)
+			.putShort((short) ZipEntry.DEFLATED)
+			.putInt(DOS_TIME_EPOCH)
+			.putInt((int) crc.getValue())
+			.putInt(compressed.length)
+			.putInt(entryData.length)
+			.putShort((short) name.length)
+			.putShort((short) 0)
+			.put(name);
+		os.write(local.array());
+		os.write(compressed);
+
+		long newCdOffset = cdOffset + local.capacity() + compressed.length;
+		if (newCdOffset > 0xFFFFFFFFL)
+		{
+			throw new ZipException("jar is too large");
+		}
+
+		os.write(cd.array());
+		ByteBuffer central = ByteBuffer.allocate(CENTRAL_HEADER_SIZE + name.length).order(ByteOrder.LITTLE_ENDIAN);
+		central.putInt(CENTRAL_HEADER_SIG)
+			.putShort((short) VERSION_DEFLATED)
+			.putShort((short) VERSION_DEFLATED)
+			.putShort((short) FLAG_UTF8)
+			.putShort((short) ZipEntry.DEFLATED)
+			.putInt(DOS_TIME_EPOCH)
+			.putInt((int) crc.getValue())
+			.putInt(compressed.length)
+			.putInt(entryData.length)
+			.putShort((short) name.length)
+			.putShort((short) 0)
+			.putShort((short) 0)
+			.putShort((short) 0)
+			.putShort((short) 0)
+			.putInt(0)
+			.putInt((int) cdOffset)
+			.put(name);
+		os.write(central.array());
+
+		ByteBuffer newEnd = ByteBuffer.allocate(end.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+		newEnd.put(end.duplicate().clear());
+		newEnd.putShort(8, (short) (entries + 1))
+			.putShort(10, (short) (entries + 1))
+			.putInt(12, (int) (cdSize + central.capacity()))
+			.putInt(16, (int) newCdOffset);
+		os.write(newEnd.array());
+	}
+
+	private static boolean nameEquals(ByteBuffer cd, int offset, int len, byte[] name)
+	{
+		if (len != name.length)
+		{
+			return false;
+		}
+		for (int i = 0; i < len; i++)
+		{
+			if (cd.get(offset + i) != name[i])
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] deflate(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater))
+		{
+			dos.write(data);
+		}
+		finally
+		{
+			deflater.end();
+		}
+		return baos.toByteArray();
+	}
+
+	private static void copy(FileChannel fc, long start, long end, OutputStream os) throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+		for (long pos = start; pos < end; )
+		{
+			buf.clear();
+			buf.limit((int) Math.min(buf.capacity(), end - pos));
+			int read = fc.read(buf, pos);
+			if (read < 0)
+			{
+				throw new ZipException("unexpected eof");
+			}
+			os.write(buf.array(), 0, read);
+			pos += read;
+		}
+	}
+
+	private static void readFully(FileChannel fc, ByteBuffer buf, long pos) throws IOException
+	{
+		while (buf.hasRemaining())
+		{
+			int read = fc.read(buf, pos);
+			if (read < 0)
+			{
+				throw new ZipException("unexpected eof");
+			}
+			pos += read;
+		}
+	}
+
+	/**
+	 * The slow path, which inflates and deflates every entry
+	 */
+	static Result rewrite(File in, File out, String entryName, byte[] entryData) throws IOException
+	{
+		try (ZipInputStream zis = new ZipInputStream(new FileInputStream(in));
+			HashingCountingStream os = new HashingCountingStream(out))
+		{
+			ZipOutputStream zos = new ZipOutputStream(os);
+			for (ZipEntry ze; (ze = zis.getNextEntry()) != null; )
+			{
+				zos.putNextEntry(ze);
+				ByteStreams.copy(zis, zos);
+				zos.closeEntry();
+			}
+
+			ZipEntry ze = new ZipEntry(entryName);
+			ze.setTime(0);
+			zos.putNextEntry(ze);
+			zos.write(entryData);
+			zos.closeEntry();
+			zos.finish();
+
+			return os.result();
+		}
+	}
+
+	private static class HashingCountingStream extends OutputStream
+	{
+		private final OutputStream file;
+		private final CountingOutputStream counter;
+		private final HashingOutputStream hasher;
+
+		HashingCountingStream(File out) throws IOException
+		{
+			file = new BufferedOutputStream(new FileOutputStream(out), 64 * 1024);
+			counter = new CountingOutputStream(file);
+			hasher = new HashingOutputStream(Hashing.sha256(), counter);
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			hasher.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			hasher.write(b, off, len);
+		}
+
+		Result result() throws IOException
+		{
+			hasher.flush();
+			return new Result(counter.getCount(), hasher.hash().asBytes());
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			file.close();
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import net.runelite.pluginhub.apirecorder.ClassRecorder;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Reads every class in a plugin jar once, in parallel, collecting everything
+ * {@link Plugin} needs to know about the classes in the jar
+ */
+@Getter
+class JarInspector
+{
+	private final Set<String> jarClasses = new HashSet<>();
+	private final Set<String> pluginClasses = new HashSet<>();
+	private final ClassRecorder builtinApi = new ClassRecorder();
+
+	/**
+	 * The first class file which is too new to load on Java 11
+	 */
+	@Nullable
+	private String incompatibleClass;
+
+	static JarInspector inspect(File jar) throws IOException
+	{
+		try (ZipFile zf = new ZipFile(jar))
+		{
+			List<? extends ZipEntry> classes = zf.stream()
+				.filter(ze -> ze.getName().endsWith(".class"))
+				.collect(Collectors.toList());
+
+			return classes.parallelStream()
+				.collect(Collector.of(
+					JarInspector::new,
+					(inspector, ze) -> inspector.read(zf, ze),
+					JarInspector::merge));
+		}
+		catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	private void read(ZipFile zf, ZipEntry ze)
+	{
+		String fileName = ze.getName();
+		boolean isMultiRelease = fileName.startsWith("META-INF/versions");
+
+		byte[] classData;
+		try (InputStream is = zf.getInputStream(ze))
+		{
+			classData = is.readAllBytes();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+
+		try
+		{
+			new ClassReader(classData).accept(new ClassVisitor(Opcodes.ASM7, builtinApi)
+			{
+				boolean extendsPlugin;
+				String name;
+
+				@Override
+				public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
+				{
+					if ((version & 0xFFFF) > Opcodes.V11
+						&& !(isMultiRelease || fileName.endsWith("module-info.class")))
+					{
+						incompatible(fileName);
+					}
+
+					jarClasses.add(name.replace('/', '.'));
+
+					extendsPlugin = "net/runelite/client/plugins/Plugin".equals(superName);
+					this.name = name;
+					super.visit(version, access, name, signature, superName, interfaces);
+				}
+
+				@Override
+				public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
+				{
+					if ("Lnet/runelite/client/plugins/PluginDescriptor;".equals(descriptor) && extendsPlugin)
+					{
+						pluginClasses.add(name.replace('/', '.'));
+					}
+
+					return null;
+				}
+			}, ClassReader.SKIP_CODE);
+		}
+		catch (IllegalArgumentException e)
+		{
+			if (isMultiRelease)
+			{
+				// allow multirelease classes to not be parsable by asm, they may be too new
+				return;
+			}
+
+			throw e;
+		}
+	}
+
+	private void incompatible(String fileName)
+	{
+		// keep the error stable regardless of how the scan was split up
+		if (incompatibleClass == null || fileName.compareTo(incompatibleClass) < 0)
+		{
+			incompatibleClass = fileName;
+		}
+	}
+
+	private JarInspector merge(JarInspector other)
+	{
+		jarClasses.addAll(other.jarClasses);
+		pluginClasses.addAll(other.pluginClasses);
+		builtinApi.getApi().getApis().addAll(other.builtinApi.getApi().getApis());
+		if (other.incompatibleClass != null)
+		{
+			incompatible(other.incompatibleClass);
+		}
+		return this;
+	}
+}
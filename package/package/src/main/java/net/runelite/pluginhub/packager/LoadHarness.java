@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.gson.stream.JsonWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the whole Packager pipeline offline, for measuring throughput. Generates
+ * plugins from the template plugin into local bare repositories, points their
+ * github urls at those with git's url.insteadOf, and uploads to a {@link LocalDavServer}.
+ * Then runs a full build, an incremental rebuild-all and a build of a few changed
+ * plugins, and reports plugins/minute for each.
+ * <p>
+ * Must be run from the repository root, like Packager; use {@code ./gradlew :package:loadHarness}.
+ * Packager and Uploader still use /tmp/jars and /tmp/manifest_diff, so this cannot
+ * run alongside a real build.
+ */
+@Slf4j
+public class LoadHarness
+{
+	private static final String URL_PREFIX = "https://github.com/pluginhub-load/";
+	private static final String GIT_IDENTITY = "Load Harness";
+
+	@Value
+	private static class Result
+	{
+		String name;
+		int plugins;
+		long millis;
+		int exitCode;
+
+		double pluginsPerMinute()
+		{
+			return plugins * 60_000d / Math.max(millis, 1);
+		}
+	}
+
+	private final File workDir;
+	private final File reposDir;
+	private final File pluginsDir;
+	private final int count;
+	private final List<Result> results = new ArrayList<>();
+
+	private LoadHarness(File workDir, int count)
+	{
+		this.workDir = workDir;
+		this.reposDir = new File(workDir, "repos");
+		this.pluginsDir = new File(workDir, "plugins");
+		this.count = count;
+	}
+
+	public static void main(String... args) throws Exception
+	{
+		if (args.length < 2)
+		{
+			System.err.println("usage: LoadHarness <work dir> <plugin count> [changed plugin count]");
+			System.exit(1);
+		}
+
+		LoadHarness harness = new LoadHarness(new File(args[0]).getAbsoluteFile(), Integer.parseInt(args[1]));
+		int changed = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, harness.count / 20);
+		harness.run(changed);
+	}
+
+	private void run(int changed) throws Exception
+	{
+		if (workDir.exists())
+		{
+			MoreFiles.deleteRecursively(workDir.toPath(), RecursiveDeleteOption.ALLOW_INSECURE);
+		}
+		reposDir.mkdirs();
+		pluginsDir.mkdirs();
+		Files.createSymbolicLink(new File(workDir, "package").toPath(), Packager.PACKAGE_ROOT.toPath());
+		Files.copy(new File("runelite.version").toPath(), new File(workDir, "runelite.version").toPath());
+
+		log.info("generating {} plugins", count);
+		long start = System.nanoTime();
+		generatePlugins();
+		git(workDir, "init", "-q");
+		git(workDir, "add", "plugins");
+		git(workDir, "commit", "-q", "-m", "add plugins");
+		log.info("generated {} plugins in {}ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+		Map<String, String> env = new HashMap<>();
+		env.put("REPO_CREDS", "harness:harness");
+		env.put("SIGNING_KEY", generateSigningKey());
+		env.put("GIT_CONFIG_COUNT", "1");
+		env.put("GIT_CONFIG_KEY_0", "url." + reposDir.toURI().toString().replace("file:/", "file:///") + ".insteadOf");
+		env.put("GIT_CONFIG_VALUE_0", URL_PREFIX);
+
+		try (LocalDavServer dav = new LocalDavServer(new File(workDir, "dav").toPath()))
+		{
+			env.put("REPO_ROOT", dav.getUrl());
+
+			env.put("FORCE_BUILD", "ALL");
+			runPackager("full", count, env);
+
+			// a runelite update that doesn't change any apis, which every plugin should skip
+			env.put("API_FILES_VERSION", new String(Files.readAllBytes(new File(workDir, "runelite.version").toPath()), StandardCharsets.UTF_8).trim());
+			runPackager("incremental", count, env);
+			env.remove("API_FILES_VERSION");
+
+			List<String> changedNames = new ArrayList<>();
+			for (int i = 0; i < Math.min(changed, count); i++)
+			{
+				String name = name(i);
+				File repo = new File(reposDir, name + ".git");
+				String commit = git(repo, "commit-tree", "HEAD^{tree}", "-p", "HEAD", "-m", "update");
+				git(repo, "update-ref", "HEAD", commit);
+				writeDescriptor(name, commit);
+				changedNames.add(name);
+			}
+			git(workDir, "commit", "-q", "-a", "-m", "update plugins");
+			env.put("FORCE_BUILD", String.join(",", changedNames));
+			runPackager("changed", changedNames.size(), env);
+		}
+
+		report();
+	}
+
+	private static String name(int i)
+	{
+		return String.format("load-plugin-%04d", i);
+	}
+
+	private void generatePlugins() throws Exception
+	{
+		File script = new File(Packager.PACKAGE_ROOT.getParentFile(), "create_new_plugin.py");
+		File license = new File(Packager.PACKAGE_ROOT.getParentFile(), "LICENSE.templateplugin");
+		File scratch = new File(workDir, "scratch");
+
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try
+		{
+			List<Future<?>> futures = IntStream.range(0, count)
+				.mapToObj(i -> executor.submit(() ->
+				{
+					String name = name(i);
+					File src = new File(scratch, name);
+					exec(workDir, "python3", script.getAbsolutePath(),
+						"--noninteractive",
+						"--output_directory", src.getAbsolutePath(),
+						"--name", "Load Test " + i,
+						"--package", "com.example.loadtest" + i,
+						"--author", GIT_IDENTITY,
+						"--description", "A generated plugin for load testing the packager");
+					Files.copy(license.toPath(), new File(src, "LICENSE").toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+					File repo = new File(reposDir, name + ".git");
+					git(reposDir, "init", "-q", "--bare", repo.getAbsolutePath());
+					// lets our clones use --filter like they do against github. This can't go in
+					// GIT_CONFIG_* as git clears those before running upload-pack for local repos
+					git(repo, "config", "uploadpack.allowFilter", "true");
+					String workTree = "--work-tree=" + src.getAbsolutePath();
+					git(repo, workTree, "add", "-A");
+					git(repo, workTree, "commit", "-q", "-m", "initial commit");
+					writeDescriptor(name, git(repo, "rev-parse", "HEAD"));
+					MoreFiles.deleteRecursively(src.toPath(), RecursiveDeleteOption.ALLOW_INSECURE);
+					return null;
+				}))
+				.collect(Collectors.toList());
+
+			for (Future<?> f : futures)
+			{
+				f.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	private void writeDescriptor(String name, String commit) throws IOException
+	{
+		Files.write(new File(pluginsDir, name).toPath(), ("repository=" + URL_PREFIX + name + ".git\n"
+			+ "commit=" + commit + "\n")
+			.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void runPackager(String name, int plugins, Map<String, String> env) throws IOException, InterruptedException
+	{
+		log.info("starting {} run of {} plugins", name, plugins);
+		long start = System.nanoTime();
+		int exitCode = java(env, Packager.class.getName());
+		if (exitCode == 0)
+		{
+			// publish the manifest so the next run can be incremental
+			exitCode = java(env, "net.runelite.pluginhub.uploader.Uploader");
+		}
+		Result result = new Result(name, plugins, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), exitCode);
+		log.info("{} run finished in {}ms ({} plugins/minute), exit code {}", name, result.getMillis(), String.format("%.1f", result.pluginsPerMinute()), exitCode);
+		results.add(result);
+	}
+
+	private int java(Map<String, String> env, String mainClass) throws IOException, InterruptedException
+	{
+		ProcessBuilder pb = new ProcessBuilder(
+			new File(System.getProperty("java.home"), "bin/java").getAbsolutePath(),
+			"-cp", System.getProperty("java.class.path"),
+			mainClass)
+			.directory(workDir)
+			.inheritIO();
+		pb.environment().putAll(env);
+		return pb.start().waitFor();
+	}
+
+	private void report() throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Result r : results)
+		{
+			sb.append(String.format("%-12s %6d plugins %10dms %8.1f plugins/minute%s\n",
+				r.getName(), r.getPlugins(), r.getMillis(), r.pluginsPerMinute(), r.getExitCode() == 0 ? "" : " (exit code " + r.getExitCode() + ")"));
+		}
+		log.info("load harness results:\n{}", sb);
+
+		try (Writer w = new OutputStreamWriter(new FileOutputStream(new File(workDir, "load-report.json")), StandardCharsets.UTF_8))
+		{
+			JsonWriter jw = new JsonWriter(w);
+			jw.setIndent("\t");
+			jw.beginArray();
+			for (Result r : results)
+			{
+				jw.beginObject();
+				jw.name("run").value(r.getName());
+				jw.name("plugins").value(r.getPlugins());
+				jw.name("millis").value(r.getMillis());
+				jw.name("pluginsPerMinute").value(r.pluginsPerMinute());
+				jw.name("exitCode").value(r.getExitCode());
+				jw.endObject();
+			}
+			jw.endArray();
+			jw.flush();
+		}
+	}
+
+	private static String generateSigningKey() throws NoSuchAlgorithmException
+	{
+		KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+		kpg.initialize(2048);
+		return Base64.getEncoder().encodeToString(kpg.generateKeyPair().getPrivate().getEncoded());
+	}
+
+	private static String git(File dir, String... args) throws IOException
+	{
+		String[] cmd = new String[args.length + 5];
+		cmd[0] = "git";
+		cmd[1] = "-c";
+		cmd[2] = "user.name=" + GIT_IDENTITY;
+		cmd[3] = "-c";
+		cmd[4] = "user.email=load@localhost";
+		System.arraycopy(args, 0, cmd, 5, args.length);
+
+		if (dir.getName().endsWith(".git") && dir.exists())
+		{
+			// bare repos, which we add to with --work-tree
+			String[] bare = new String[cmd.length + 1];
+			bare[0] = cmd[0];
+			bare[1] = "--git-dir=" + dir.getAbsolutePath();
+			System.arraycopy(cmd, 1, bare, 2, cmd.length - 1);
+			cmd = bare;
+		}
+		return exec(dir, cmd);
+	}
+
+	private static String exec(File dir, String... cmd) throws IOException
+	{
+		Process p = new ProcessBuilder(cmd)
+			.directory(dir)
+			.redirectError(ProcessBuilder.Redirect.INHERIT)
+			.start();
+		byte[] out = ByteStreams.toByteArray(p.getInputStream());
+		try
+		{
+			if (p.waitFor() != 0)
+			{
+				throw new IOException(String.join(" ", cmd) + " exited with " + p.exitValue());
+			}
+		}
+		catch (InterruptedException e)
+		{
+			throw new RuntimeException(e);
+		}
+		return new String(out, StandardCharsets.UTF_8).trim();
+	}
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.MoreFiles;
+import com.google.common.net.UrlEscapers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Just enough of a WebDAV server, backed by a local directory, to stand in for
+ * REPO_ROOT. Like the real server, PUT and MKCOL fail with 409 if the parent
+ * collection is missing and MKCOL fails with 405 if the collection exists.
+ * PROPFIND only reports resourcetype, with a depth of 0 or 1. PUT takes a
+ * Content-Range, and HEAD sends a SHA-256 Digest if asked for one. The
+ * Content-Type and Content-Encoding of a PUT are sent back when the file is
+ * read, as the real server does, but are only kept in memory.
+ */
+@Slf4j
+class LocalDavServer implements Closeable
+{
+	private static final Pattern CONTENT_RANGE = Pattern.compile("bytes ([0-9]+)-([0-9]+)/([0-9]+|\\*)");
+
+	private final Path root;
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+	/**
+	 * the Content-Type and Content-Encoding each file was put with
+	 */
+	private final Map<Path, String[]> headers = new ConcurrentHashMap<>();
+
+	LocalDavServer(Path root) throws IOException
+	{
+		this.root = root.toAbsolutePath().normalize();
+		Files.createDirectories(this.root);
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	String getUrl()
+	{
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+	}
+
+	@Override
+	public void close()
+	{
+		server.stop(0);
+		executor.shutdown();
+	}
+
+	private void handle(HttpExchange ex) throws IOException
+	{
+		try
+		{
+			Path path = root.resolve("." + ex.getRequestURI().getPath()).normalize();
+			if (!path.startsWith(root))
+			{
+				send(ex, 403);
+				return;
+			}
+
+			switch (ex.getRequestMethod())
+			{
+				case "GET":
+				case "HEAD":
+					if (!Files.isRegularFile(path))
+					{
+						send(ex, 404);
+						return;
+					}
+					String[] stored = headers.get(path);
+					if (stored != null)
+					{
+						setIfPresent(ex, "Content-Type", stored[0]);
+						setIfPresent(ex, "Content-Encoding", stored[1]);
+					}
+					if (ex.getRequestMethod().equals("HEAD"))
+					{
+						String wantDigest = ex.getRequestHeaders().getFirst("Want-Digest");
+						if (wantDigest != null && wantDigest.toUpperCase().contains("SHA-256"))
+						{
+							ex.getResponseHeaders().set("Digest", "SHA-256=" + Base64.getEncoder().encodeToString(
+								MoreFiles.asByteSource(path).hash(Hashing.sha256()).asBytes()));
+						}
+						ex.getResponseHeaders().set("Content-Length", Long.toString(Files.size(path)));
+						ex.sendResponseHeaders(200, -1);
+						return;
+					}
+					ex.sendResponseHeaders(200, Files.size(path));
+					try (OutputStream os = ex.getResponseBody())
+					{
+						Files.copy(path, os);
+					}
+					return;
+				case "PUT":
+				{
+					if (!Files.isDirectory(path.getParent()))
+					{
+						send(ex, 409);
+						return;
+					}
+					boolean existed = Files.exists(path);
+					String range = ex.getRequestHeaders().getFirst("Content-Range");
+					if (range != null)
+					{
+						Matcher m = CONTENT_RANGE.matcher(range);
+						if (!m.matches())
+						{
+							send(ex, 400);
+							return;
+						}
+						try (FileChannel fc = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+							InputStream is = ex.getRequestBody())
+						{
+							long start = Long.parseLong(m.group(1));
+							if (start > fc.size())
+							{
+								send(ex, 416);
+								return;
+							}
+							fc.position(start);
+							ByteStreams.copy(is, Channels.newOutputStream(fc));
+						}
+						send(ex, existed ? 204 : 201);
+						return;
+					}
+					Path tmp = Files.createTempFile(path.getParent(), ".put", null);
+					try (InputStream is = ex.getRequestBody())
+					{
+						Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+					}
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+					headers.put(path, new String[]{
+						ex.getRequestHeaders().getFirst("Content-Type"),
+						ex.getRequestHeaders().getFirst("Content-Encoding"),
+					});
+					send(ex, existed ? 204 : 201);
+					return;
+				}
+				case "MKCOL":
+					if (Files.exists(path))
+					{
+						send(ex, 405);
+						return;
+					}
+					if (!Files.isDirectory(path.getParent()))
+					{
+						send(ex, 409);
+						return;
+					}
+					Files.createDirectory(path);
+					send(ex, 201);
+					return;
+				case "MOVE":
+				{
+					String destination = ex.getRequestHeaders().getFirst("Destination");
+					Path dest = destination == null ? null : root.resolve("." + URI.create(destination).getPath()).normalize();
+					if (dest == null || !dest.startsWith(root))
+					{
+						send(ex, 400);
+						return;
+					}
+					if (!Files.exists(path))
+					{
+						send(ex, 404);
+						return;
+					}
+					if (!Files.isDirectory(dest.getParent()))
+					{
+						send(ex, 409);
+						return;
+					}
+					boolean existed = Files.exists(dest);
+					if (existed && "F".equals(ex.getRequestHeaders().getFirst("Overwrite")))
+					{
+						send(ex, 412);
+						return;
+					}
+					Files.move(path, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+					String[] moved = headers.remove(path);
+					if (moved != null)
+					{
+						headers.put(dest, moved);
+					}
+					else
+					{
+						headers.remove(dest);
+					}
+					send(ex, existed ? 204 : 201);
+					return;
+				}
+				case "DELETE":
+					headers.remove(path);
+					send(ex, Files.deleteIfExists(path) ? 204 : 404);
+					return;
+				case "PROPFIND":
+				{
+					if (!Files.exists(path))
+					{
+						send(ex, 404);
+						return;
+					}
+					ex.getRequestBody().close();
+
+					StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?><D:multistatus xmlns:D=\"DAV:\">");
+					appendPropfind(xml, path);
+					if (Files.isDirectory(path) && !"0".equals(ex.getRequestHeaders().getFirst("Depth")))
+					{
+						try (Stream<Path> children = Files.list(path))
+						{
+							for (Path child : (Iterable<Path>) children::iterator)
+							{
+								appendPropfind(xml, child);
+							}
+						}
+					}
+					xml.append("</D:multistatus>");
+
+					byte[] body = xml.toString().getBytes(StandardCharsets.UTF_8);
+					ex.getResponseHeaders().set("Content-Type", "application/xml; charset=utf-8");
+					ex.sendResponseHeaders(207, body.length);
+					try (OutputStream os = ex.getResponseBody())
+					{
+						os.write(body);
+					}
+					return;
+				}
+				default:
+					send(ex, 405);
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("dav request {} {} failed", ex.getRequestMethod(), ex.getRequestURI(), e);
+			throw e;
+		}
+		finally
+		{
+			ex.close();
+		}
+	}
+
+	private void appendPropfind(StringBuilder xml, Path path)
+	{
+		boolean dir = Files.isDirectory(path);
+		StringBuilder href = new StringBuilder();
+		for (Path segment : root.relativize(path))
+		{
+			if (!segment.toString().isEmpty())
+			{
+				href.append('/').append(UrlEscapers.urlPathSegmentEscaper().escape(segment.toString()));
+			}
+		}
+		if (dir)
+		{
+			href.append('/');
+		}
+
+		xml.append("<D:response><D:href>").append(href.length() == 0 ? "/" : href)
+			.append("</D:href><D:propstat><D:prop><D:resourcetype>")
+			.append(dir ? "<D:collection/>" : "")
+			.append("</D:resourcetype></D:prop><D:status>HTTP/1.1 200 OK</D:status></D:propstat></D:response>");
+	}
+
+	private static void setIfPresent(HttpExchange ex, String name, @Nullable String value)
+	{
+		if (value != null)
+		{
+			ex.getResponseHeaders().set(name, value);
+		}
+	}
+
+	private static void send(HttpExchange ex, int code) throws IOException
+	{
+		ex.sendResponseHeaders(code, -1);
+	}
+}
@@ -25,27 +25,35 @@
 package net.runelite.pluginhub.packager;
 
 import com.google.common.base.Splitter;
-import com.google.common.base.Stopwatch;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Queues;
 import com.google.common.io.ByteStreams;
-import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -54,6 +62,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -71,10 +80,33 @@ public class Packager implements Closeable
 	public static final File PACKAGE_ROOT = new File("./package/").getAbsoluteFile();
 	private static final File ARTIFACT_DIR = new File("/tmp/jars");
 
-	private Semaphore apiCheckSemaphore = new Semaphore(8);
-	private Semaphore downloadSemaphore = new Semaphore(2);
-	private Semaphore buildSemaphore = new Semaphore(Runtime.getRuntime().availableProcessors());
-	private Semaphore uploadSemaphore = new Semaphore(2);
+	private static final File METRICS_JSON = new File("/tmp/package_metrics.json");
+	private static final File METRICS_PROMETHEUS = new File("/tmp/package_metrics.prom");
+	private static final File BUILD_PROFILE_JSON = new File("/tmp/package_build_profile.json");
+
+	// how much bigger than its median a plugin's build time or jar size must be to be reported
+	private static final double REGRESSION_THRESHOLD = 1.5;
+
+	private final StageMetrics apiCheckMetrics = new StageMetrics("apicheck", 8);
+	private final StageMetrics downloadMetrics = new StageMetrics("download", 2);
+	private final StageMetrics buildMetrics = new StageMetrics("build", Runtime.getRuntime().availableProcessors());
+
+	// plugins with uploads in flight, which bounds how many finished build directories are kept on disk.
+	// how many requests can be in flight is limited by UploadConfiguration
+	private final StageMetrics uploadMetrics = new StageMetrics("upload", 16);
+	private final ExecutorService uploadExecutor = Executors.newFixedThreadPool(2, new ThreadFactoryBuilder()
+		.setNameFormat("PluginUploader-%d")
+		.setDaemon(true)
+		.build());
+	private final List<CompletableFuture<Void>> pendingUploads = Collections.synchronizedList(new ArrayList<>());
+
+	private Semaphore apiCheckSemaphore = new Semaphore(apiCheckMetrics.getPermits());
+	private Semaphore downloadSemaphore = new Semaphore(downloadMetrics.getPermits());
+	private Semaphore buildSemaphore = new Semaphore(buildMetrics.getPermits());
+	private Semaphore uploadSemaphore = new Semaphore(uploadMetrics.getPermits());
+
+	private final BuildProfile buildProfile = new BuildProfile();
+	private final Map<String, ResourceSampler.Usage> resourceUsage = new ConcurrentHashMap<>();
 
 	private final List<File> buildList;
 
@@ -96,6 +128,9 @@ public class Packager implements Closeable
 	@Setter
 	private boolean alwaysPrintLog;
 
+	@Setter
+	private long logSizeLimit = 4 * 1024 * 1024;
+
 	@Getter
 	private boolean failed;
 
@@ -105,6 +140,23 @@ public class Packager implements Closeable
 
 	private ManifestDiff diff = new ManifestDiff();
 
+	private GitHistoryIndex gitHistory;
+
+	/**
+	 * where to write a chrome trace of the run, if anywhere. Nothing is recorded unless this is set.
+	 */
+	@Nullable
+	private File traceFile;
+
+	private TraceRecorder trace = TraceRecorder.DISABLED;
+
+	/**
+	 * timings from previous runs, used to order the build queue and find regressions
+	 */
+	@Setter
+	@Nullable
+	private BuildHistory history;
+
 	public Packager(List<File> buildList) throws IOException
 	{
 		this.buildList = buildList;
@@ -134,17 +186,46 @@ public class Packager implements Closeable
 
 		if (uploadConfig.isComplete())
 		{
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_JAR).build());
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_ICON).build());
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_API).build());
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_LOG).build());
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_SOURCE).build());
-			uploadConfig.mkdirs(uploadConfig.getRoot().newBuilder().addPathSegment(UploadConfiguration.DIR_MANIFEST).build());
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_JAR);
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_ICON);
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_API);
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_LOG);
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_SOURCE);
+			uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_MANIFEST);
+			if (uploadConfig.isSourceBlobs())
+			{
+				uploadConfig.getStore().mkdirs(UploadConfiguration.DIR_SOURCE_BLOB);
+			}
 		}
 
 		ARTIFACT_DIR.mkdirs();
 
-		Queue<File> buildQueue = Queues.synchronizedQueue(new ArrayDeque<>(buildList));
+		try
+		{
+			gitHistory = GitHistoryIndex.build(PLUGIN_ROOT);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to index plugin history, falling back to git log per plugin", e);
+		}
+
+		List<File> buildOrder = buildList;
+		if (history != null)
+		{
+			// start the slowest plugins first so they don't end up running alone at the end
+			Map<File, Long> estimates = buildList.stream()
+				.collect(Collectors.toMap(Function.identity(), f -> history.estimateMillis(f.getName()), (a, b) -> a));
+			long[] known = estimates.values().stream().mapToLong(Long::longValue).filter(v -> v >= 0).sorted().toArray();
+			long unknown = known.length == 0 ? 0 : known[known.length / 2];
+			buildOrder = new ArrayList<>(buildList);
+			buildOrder.sort(Comparator.comparingLong((File f) ->
+			{
+				long estimate = estimates.get(f);
+				return estimate >= 0 ? estimate : unknown;
+			}).reversed());
+		}
+
+		Queue<File> buildQueue = Queues.synchronizedQueue(new ArrayDeque<>(buildOrder));
 		List<Thread> buildThreads = IntStream.range(0, 8)
 			.mapToObj(v ->
 			{
@@ -154,7 +235,7 @@ public class Packager implements Closeable
 					{
 						buildPlugin(plugin);
 					}
-				});
+				}, "PluginBuilder-" + v);
 				t.start();
 				return t;
 			}).collect(Collectors.toList());
@@ -171,6 +252,9 @@ public class Packager implements Closeable
 			}
 		}
 
+		CompletableFuture.allOf(pendingUploads.toArray(new CompletableFuture<?>[0])).join();
+		uploadExecutor.shutdown();
+
 		String diffJSON = Util.GSON.toJson(diff);
 		log.debug("manifest change: {}", diffJSON);
 
@@ -178,6 +262,59 @@ public class Packager implements Closeable
 		{
 			fos.write(diffJSON.getBytes(StandardCharsets.UTF_8));
 		}
+
+		writeMetrics();
+
+		if (traceFile != null)
+		{
+			try (Writer w = new OutputStreamWriter(new FileOutputStream(traceFile), StandardCharsets.UTF_8))
+			{
+				trace.write(w);
+			}
+		}
+	}
+
+	private void writeMetrics() throws IOException
+	{
+		List<StageMetrics> stages = Arrays.asList(apiCheckMetrics, downloadMetrics, buildMetrics, uploadMetrics);
+		try (Writer w = new OutputStreamWriter(new FileOutputStream(METRICS_JSON), StandardCharsets.UTF_8))
+		{
+			StageMetrics.writeJson(stages, w);
+		}
+		try (Writer w = new OutputStreamWriter(new FileOutputStream(METRICS_PROMETHEUS), StandardCharsets.UTF_8))
+		{
+			StageMetrics.writePrometheus(stages, w);
+		}
+		try (Writer w = new OutputStreamWriter(new FileOutputStream(BUILD_PROFILE_JSON), StandardCharsets.UTF_8))
+		{
+			buildProfile.writeJson(w);
+		}
+		log.info("Gradle build profile:\n{}", buildProfile.summary());
+
+		if (history != null)
+		{
+			List<String> regressions = history.regressions(REGRESSION_THRESHOLD);
+			if (!regressions.isEmpty())
+			{
+				log.info("Plugins that got slower or bigger:\n{}", String.join("\n", regressions));
+			}
+			history.save();
+		}
+
+		if (!resourceUsage.isEmpty())
+		{
+			log.info("Most memory hungry builds:\n{}", heaviest(Comparator.comparingLong(ResourceSampler.Usage::getPeakRssBytes)));
+			log.info("Most cpu hungry builds:\n{}", heaviest(Comparator.comparingLong(ResourceSampler.Usage::getCpuMillis)));
+		}
+	}
+
+	private String heaviest(Comparator<ResourceSampler.Usage> order)
+	{
+		return resourceUsage.entrySet().stream()
+			.sorted(Map.Entry.<String, ResourceSampler.Usage>comparingByValue(order).reversed())
+			.limit(10)
+			.map(e -> e.getKey() + ": " + e.getValue())
+			.collect(Collectors.joining("\n"));
 	}
 
 	private void buildPlugin(File plugin)
@@ -189,8 +326,13 @@ public class Packager implements Closeable
 			return;
 		}
 
-		try (Plugin p = new Plugin(plugin))
+		Plugin p = null;
+		boolean uploading = false;
+		try (Closeable ignored0 = trace.span("plugin", "plugin", plugin.getName()))
 		{
+			p = new Plugin(plugin);
+			p.setGitHistory(gitHistory);
+			p.setLogSizeLimit(logSizeLimit);
 			try
 			{
 				PluginHubManifest.JarData oldJarData = this.oldJarData.get(p.getInternalName());
@@ -214,43 +356,49 @@ public class Packager implements Closeable
 				{
 					p.build(runeliteVersion, alwaysPrintLog);
 				}
-				String logURL = "";
-				if (uploadConfig.isComplete())
+				finally
 				{
-					try (Closeable ignored = acquireUpload(p))
+					buildProfile.merge(p.getBuildProfile());
+					if (p.getResourceUsage() != null)
 					{
-						p.upload(uploadConfig);
+						resourceUsage.put(p.getInternalName(), p.getResourceUsage());
 					}
-
-					// outside the semaphore so the timing gets uploaded too
-					logURL = p.uploadLog(uploadConfig);
 				}
 
-				p.copyArtifacts(ARTIFACT_DIR);
-
-				diff.getAddJarData().add(p.getJarData());
-				diff.getAddDisplayData().add(p.getDisplayData());
-				log.info("{}: done in {}ms [{}/{}]", p.getInternalName(), p.getBuildTimeMS(), numDone.get() + 1, numTotal);
+				if (uploadConfig.isComplete())
+				{
+					// the rest of the plugin is finished once its uploads are, leaving this thread free for the next plugin
+					uploadAsync(p);
+					uploading = true;
+					return;
+				}
 
-				if (!p.getApiFile().exists())
+				try (Closeable ignored = trace.span("copyArtifacts", "stage", p.getInternalName()))
 				{
-					logToSummary("{} failed to write the api record: {}", p.getInternalName(), logURL);
+					p.copyArtifacts(ARTIFACT_DIR);
 				}
+				pluginDone(p, "");
 			}
 			catch (PluginBuildException e)
 			{
 				failed = true;
+				recordHistory(p, false);
 				p.writeLog("package failed\n", e);
+				p.flushLog();
 				if (!alwaysPrintLog)
 				{
-					Files.asCharSource(p.getLogFile(), StandardCharsets.UTF_8).copyTo(System.out);
+					CappedLog.copy(p.getLogFile(), logSizeLimit, System.out);
 				}
 
 				PluginHubManifest.DisplayData oldDisplayData = this.oldDisplayData.get(p.getInternalName());
 
 				if (uploadConfig.isComplete())
 				{
-					String logURL = p.uploadLog(uploadConfig);
+					String logURL;
+					try (Closeable ignored = trace.span("uploadLog", "stage", p.getInternalName()))
+					{
+						logURL = p.uploadLog(uploadConfig);
+					}
 					if (oldDisplayData != null && oldDisplayData.getBuildFailAt() != null)
 					{
 						long daysFailed = Instant.ofEpochSecond(oldDisplayData.getBuildFailAt()).until(Instant.now(), ChronoUnit.DAYS);
@@ -279,9 +427,10 @@ public class Packager implements Closeable
 			}
 			finally
 			{
-				if (alwaysPrintLog)
+				if (alwaysPrintLog && !uploading)
 				{
-					Files.asCharSource(p.getLogFile(), StandardCharsets.UTF_8).copyTo(System.out);
+					p.flushLog();
+					CappedLog.copy(p.getLogFile(), logSizeLimit, System.out);
 				}
 			}
 		}
@@ -312,11 +461,138 @@ public class Packager implements Closeable
 			logToSummary("{}: crashed the build script: ", plugin.getName(), e);
 		}
 		finally
+		{
+			if (!uploading)
+			{
+				closePlugin(p);
+			}
+		}
+	}
+
+	private void uploadAsync(Plugin p) throws IOException
+	{
+		Closeable section = acquireUpload(p);
+		CompletableFuture<Void> upload;
+		try
+		{
+			upload = p.upload(uploadConfig);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			section.close();
+			throw e;
+		}
+
+		pendingUploads.add(upload.handleAsync((v, ex) ->
+		{
+			// the log is closed by the first attempt to upload it, so it can't be written to or uploaded again
+			boolean logUploading = false;
+			try
+			{
+				section.close();
+				if (ex != null)
+				{
+					throw ex instanceof CompletionException ? ex.getCause() : ex;
+				}
+
+				String logURL;
+				try (Closeable ignored = trace.span("uploadLog", "stage", p.getInternalName()))
+				{
+					logUploading = true;
+					logURL = p.uploadLog(uploadConfig);
+				}
+				try (Closeable ignored = trace.span("copyArtifacts", "stage", p.getInternalName()))
+				{
+					p.copyArtifacts(ARTIFACT_DIR);
+				}
+				pluginDone(p, logURL);
+			}
+			catch (Throwable e)
+			{
+				failed = true;
+				recordHistory(p, false);
+				String logURL = null;
+				if (!logUploading)
+				{
+					try (Closeable ignored = trace.span("uploadLog", "stage", p.getInternalName()))
+					{
+						p.writeLog("upload failed\n", e);
+						logURL = p.uploadLog(uploadConfig);
+					}
+					catch (IOException | RuntimeException logEx)
+					{
+						e.addSuppressed(logEx);
+					}
+				}
+
+				if (logURL != null)
+				{
+					logToSummary("{} failed to upload: {}", p.getInternalName(), logURL, e);
+				}
+				else
+				{
+					logToSummary("{}: crashed the build script: ", p.getInternalName(), e);
+				}
+			}
+			finally
+			{
+				closePlugin(p);
+			}
+			return null;
+		}, uploadExecutor));
+	}
+
+	private void pluginDone(Plugin p, String logURL)
+	{
+		diff.getAddJarData().add(p.getJarData());
+		diff.getAddDisplayData().add(p.getDisplayData());
+		log.info("{}: done in {}ms [{}/{}]", p.getInternalName(), p.getBuildTimeMS(), numDone.get() + 1, numTotal);
+		recordHistory(p, true);
+
+		if (!p.getApiFile().exists())
+		{
+			logToSummary("{} failed to write the api record: {}", p.getInternalName(), logURL);
+		}
+	}
+
+	private void closePlugin(@Nullable Plugin p)
+	{
+		try
+		{
+			if (p != null)
+			{
+				p.close();
+			}
+		}
+		catch (IOException e)
+		{
+			failed = true;
+			logToSummary("{}: crashed the build script: ", p.getInternalName(), e);
+		}
+		finally
 		{
 			numDone.addAndGet(1);
 		}
 	}
 
+	private void recordHistory(Plugin p, boolean success)
+	{
+		if (history == null)
+		{
+			return;
+		}
+
+		BuildHistory.Record r = new BuildHistory.Record();
+		r.setPlugin(p.getInternalName());
+		r.setCommit(p.getCommit());
+		r.setRuneliteVersion(runeliteVersion);
+		r.setTime(System.currentTimeMillis() / 1000);
+		r.setSuccess(success);
+		r.getStagesMS().putAll(p.getStageTimesMS());
+		r.setJarSize(p.getJarData().getJarSize());
+		history.add(r);
+	}
+
 	private void logToSummary(String message, Object... args)
 	{
 		log.info(message, args);
@@ -334,26 +610,31 @@ public class Packager implements Closeable
 
 	private Closeable acquireAPICheck(Plugin plugin)
 	{
-		return section(plugin, "apicheck", apiCheckSemaphore);
+		return section(plugin, apiCheckMetrics, apiCheckSemaphore, false);
 	}
 
 	private Closeable acquireDownload(Plugin plugin)
 	{
-		return section(plugin, "download", downloadSemaphore);
+		return section(plugin, downloadMetrics, downloadSemaphore, false);
 	}
 
 	private Closeable acquireBuild(Plugin plugin)
 	{
-		return section(plugin, "build", buildSemaphore);
+		return section(plugin, buildMetrics, buildSemaphore, false);
 	}
 
 	private Closeable acquireUpload(Plugin plugin)
 	{
-		return section(plugin, "upload", uploadSemaphore);
+		// closed by whichever uploader thread finishes the plugin's uploads
+		return section(plugin, uploadMetrics, uploadSemaphore, true);
 	}
 
-	private Closeable section(Plugin p, String name, Semaphore s)
+	/**
+	 * @param async if the section may be closed on a different thread than it was opened on
+	 */
+	private Closeable section(Plugin p, StageMetrics metrics, Semaphore s, boolean async)
 	{
+		long waitStart = System.nanoTime();
 		try
 		{
 			s.acquire();
@@ -362,17 +643,47 @@ public class Packager implements Closeable
 		{
 			throw new RuntimeException(e);
 		}
-		Stopwatch time = Stopwatch.createStarted();
+		long start = System.nanoTime();
+		long waitNanos = start - waitStart;
+		metrics.acquired(waitNanos);
+		trace.record(metrics.getName(), "wait", p.getInternalName(), waitStart, start);
+
+		StageEvent event = new StageEvent();
+		event.plugin = p.getInternalName();
+		event.stage = metrics.getName();
+		event.wait = waitNanos;
+		event.begin();
+
 		return () ->
 		{
-			long ms = time.stop()
-				.elapsed(TimeUnit.MILLISECONDS);
-			p.setBuildTimeMS(p.getBuildTimeMS() + ms);
-			p.writeLog("{}: {}ms\n", name, ms);
+			event.commit();
+			long end = System.nanoTime();
+			long nanos = end - start;
+			metrics.released(nanos);
 			s.release();
+			if (async)
+			{
+				trace.recordAsync(metrics.getName(), "stage", p.getInternalName(), start, end);
+			}
+			else
+			{
+				trace.record(metrics.getName(), "stage", p.getInternalName(), start, end);
+			}
+
+			long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+			p.setBuildTimeMS(p.getBuildTimeMS() + ms);
+			p.getStageTimesMS().merge(metrics.getName(), ms, Long::sum);
+			p.writeLog("{}: {}ms (waited {}ms)\n", metrics.getName(), ms, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+			p.flushLog();
 		};
 	}
 
+	public void setTraceFile(@Nullable File traceFile)
+	{
+		this.traceFile = traceFile;
+		trace = traceFile == null ? TraceRecorder.DISABLED : new TraceRecorder();
+	}
+
 	public void setIsIncrementalRebuild(boolean incremental)
 	{
 		this.isIncrementalRebuild = incremental;
@@ -506,8 +817,23 @@ public class Packager implements Closeable
 		{
 			pkg.getUploadConfig().fromEnvironment(pkg.getRuneliteVersion());
 			pkg.setAlwaysPrintLog(!pkg.getUploadConfig().isComplete());
+			String logLimit = System.getenv("PACKAGE_LOG_LIMIT_KIB");
+			if (!Strings.isNullOrEmpty(logLimit))
+			{
+				pkg.setLogSizeLimit(Long.parseLong(logLimit.trim()) * 1024);
+			}
 			pkg.setIsIncrementalRebuild(isBuildingAll);
 			pkg.setApiFilesVersion(apiFilesVersion);
+			String traceFile = System.getenv("PACKAGE_TRACE_FILE");
+			if (!Strings.isNullOrEmpty(traceFile))
+			{
+				pkg.setTraceFile(new File(traceFile));
+			}
+			String historyFile = System.getenv("PACKAGE_HISTORY_FILE");
+			if (!Strings.isNullOrEmpty(historyFile))
+			{
+				pkg.setHistory(BuildHistory.load(new File(historyFile)));
+			}
 			pkg.buildPlugins();
 			failed = pkg.isFailed();
 			if (isBuildingAll)
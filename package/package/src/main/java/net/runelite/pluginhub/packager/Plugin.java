@@ -29,37 +29,35 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
 import com.google.common.hash.Hashing;
-import com.google.common.io.ByteStreams;
-import com.google.common.io.CountingOutputStream;
+import com.google.common.io.ByteSource;
 import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.CharArrayWriter;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -67,39 +65,30 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import java.util.zip.ZipFile;
 import javax.annotation.Nullable;
 import javax.imageio.ImageIO;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
-import lombok.Value;
 import net.runelite.pluginhub.apirecorder.API;
-import net.runelite.pluginhub.apirecorder.ClassRecorder;
+import net.runelite.pluginhub.uploader.ArtifactStore;
 import net.runelite.pluginhub.uploader.PluginHubManifest;
+import net.runelite.pluginhub.uploader.SourceIndex;
 import net.runelite.pluginhub.uploader.UploadConfiguration;
 import net.runelite.pluginhub.uploader.Util;
-import okhttp3.HttpUrl;
-import okhttp3.Request;
-import okhttp3.Response;
 import org.gradle.tooling.CancellationTokenSource;
 import org.gradle.tooling.GradleConnectionException;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.ResultHandler;
-import org.objectweb.asm.AnnotationVisitor;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassVisitor;
-import org.objectweb.asm.Opcodes;
 import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.MessageFormatter;
 
@@ -108,6 +97,9 @@ public class Plugin implements Closeable
 	private static final long MIB = 1024 * 1024;
 	private static final int MAX_SRC_SIZE_MIB = 10;
 
+	// icons bigger than this are rejected before they are decoded
+	private static final int MAX_ICON_DIMENSION = 4096;
+
 	private static final Pattern PLUGIN_INTERNAL_NAME_TEST = Pattern.compile("^[a-z0-9-]+$");
 	private static final Pattern REPOSITORY_TEST = Pattern.compile("^(https://github\\.com/.*)\\.git$");
 	private static final Pattern COMMIT_TEST = Pattern.compile("^[a-fA-F0-9]{40}$");
@@ -116,6 +108,7 @@ public class Plugin implements Closeable
 	private static final String SUFFIX_SOURCES = ".zip";
 	private static final String SUFFIX_API = ".api";
 	private static final String SUFFIX_ICON = ".png";
+	private static final String SUFFIX_LOG = ".log";
 
 	private static final File TMP_ROOT;
 	private static final File GRADLE_HOME;
@@ -162,6 +155,7 @@ public class Plugin implements Closeable
 
 	private File jarFile;
 	private final File srcZipFile;
+	private SourceIndex sourceIndex;
 	private final File iconFile;
 
 	@Getter
@@ -171,12 +165,14 @@ public class Plugin implements Closeable
 	private final File logFile;
 
 	@Getter
-	private FileOutputStream log;
+	private PluginLog log;
 
 	@Nullable
 	private final String warning;
 
 	private final String repositoryURL;
+
+	@Getter
 	private final String commit;
 
 	@Getter
@@ -189,8 +185,31 @@ public class Plugin implements Closeable
 	@Setter
 	private long buildTimeMS;
 
+	/**
+	 * time spent in each Packager stage
+	 */
+	@Getter
+	private final Map<String, Long> stageTimesMS = new LinkedHashMap<>();
+
+	@Getter
+	private final BuildProfile buildProfile = new BuildProfile();
+
+	@Getter
+	@Nullable
+	private ResourceSampler.Usage resourceUsage;
+
 	private int jarSizeLimitMiB = 10;
 
+	@Setter
+	@Nullable
+	private GitHistoryIndex gitHistory;
+
+	/**
+	 * logs larger than this only have their start and end uploaded
+	 */
+	@Setter
+	private long logSizeLimit = Long.MAX_VALUE;
+
 	public Plugin(File pluginCommitDescriptor) throws IOException, DisabledPluginException, PluginBuildException
 	{
 		this.pluginCommitDescriptor = pluginCommitDescriptor;
@@ -276,7 +295,7 @@ public class Plugin implements Closeable
 		}
 		repositoryDirectory = new File(buildDirectory, "repo");
 		logFile = new File(buildDirectory, "log");
-		log = new FileOutputStream(logFile, true);
+		log = new PluginLog(logFile);
 		jarFile = new File(buildDirectory, "plugin.jar");
 		apiFile = new File(buildDirectory, "api");
 		srcZipFile = new File(buildDirectory, "source.zip");
@@ -286,11 +305,15 @@ public class Plugin implements Closeable
 	@SneakyThrows
 	private static API calculateAPI() throws IOException
 	{
+		SubprocessEvent event = SubprocessEvent.begin(null, "gradlew :apirecorder:api");
 		Process gradleApi = new ProcessBuilder(new File(Packager.PACKAGE_ROOT, "gradlew").getAbsolutePath(), "--console=plain", ":apirecorder:api")
 			.directory(Packager.PACKAGE_ROOT)
 			.inheritIO()
 			.start();
 		gradleApi.waitFor(2, TimeUnit.MINUTES);
+		event.exitCode = gradleApi.exitValue();
+		event.outcome = gradleApi.exitValue() == 0 ? SubprocessEvent.SUCCESS : SubprocessEvent.FAILURE;
+		event.commit();
 		if (gradleApi.exitValue() != 0)
 		{
 			throw new RuntimeException("gradle :apirecorder:api exited with " + gradleApi.exitValue());
@@ -302,13 +325,16 @@ public class Plugin implements Closeable
 		}
 	}
 
-	private void waitAndCheck(Process process, String name, long timeout, TimeUnit timeoutUnit) throws PluginBuildException
+	private void waitAndCheck(Process process, SubprocessEvent event, long timeout, TimeUnit timeoutUnit) throws PluginBuildException
 	{
+		String name = event.command;
 		try
 		{
 			if (!process.waitFor(timeout, timeoutUnit))
 			{
 				process.destroy();
+				event.outcome = SubprocessEvent.TIMEOUT;
+				event.commit();
 				throw PluginBuildException.of(this, name + " failed to complete in a reasonable time");
 			}
 		}
@@ -317,6 +343,9 @@ public class Plugin implements Closeable
 			throw new RuntimeException(e);
 		}
 
+		event.exitCode = process.exitValue();
+		event.outcome = process.exitValue() == 0 ? SubprocessEvent.SUCCESS : SubprocessEvent.FAILURE;
+		event.commit();
 		if (process.exitValue() != 0)
 		{
 			throw PluginBuildException.of(this, name + " exited with " + process.exitValue());
@@ -330,21 +359,16 @@ public class Plugin implements Closeable
 			return true;
 		}
 
-		try (Response res = uploadConfig.getClient().newCall(new Request.Builder()
-			.url(uploadConfig.getRoot().newBuilder()
-				.addPathSegment(UploadConfiguration.DIR_API)
-				.addPathSegment(internalName + "_" + oldJarData.getJarHash() + SUFFIX_API)
-				.build())
-			.get()
-			.build()).execute())
+		ArtifactStore store = uploadConfig.getStore();
+		String name = internalName + "_" + oldJarData.getJarHash();
+		try (InputStream api = store.get(ArtifactStore.path(UploadConfiguration.DIR_API, name + SUFFIX_API)))
 		{
-			if (res.code() == 404)
+			if (api == null)
 			{
 				return true;
 			}
-			Util.check(res);
 
-			String missing = API.decode(res.body().byteStream())
+			String missing = API.decode(api)
 				.missingFrom(CURRENT_API)
 				.collect(Collectors.joining("\n"));
 
@@ -354,15 +378,10 @@ public class Plugin implements Closeable
 				return true;
 			}
 
-			try (Response res2 = uploadConfig.getClient().newCall(new Request.Builder()
-				.url(uploadConfig.getRoot().newBuilder()
-					.addPathSegment(UploadConfiguration.DIR_JAR)
-					.addPathSegment(internalName + "_" + oldJarData.getJarHash() + SUFFIX_JAR)
-					.build())
-				.head()
-				.build()).execute())
+			if (!store.exists(ArtifactStore.path(UploadConfiguration.DIR_JAR, name + SUFFIX_JAR)))
 			{
-				Util.check(res2);
+				writeLog("jar is missing; rebuild needed\n");
+				return true;
 			}
 
 			return false;
@@ -376,6 +395,8 @@ public class Plugin implements Closeable
 
 	public void download() throws IOException, PluginBuildException
 	{
+		flushLog();
+		SubprocessEvent cloneEvent = SubprocessEvent.begin(internalName, "git clone");
 		Process gitclone = new ProcessBuilder("git", "clone",
 			"--config", "advice.detachedHead=false",
 			"--filter", "tree:0", "--no-checkout",
@@ -383,15 +404,16 @@ public class Plugin implements Closeable
 			.redirectOutput(ProcessBuilder.Redirect.appendTo(logFile))
 			.redirectError(ProcessBuilder.Redirect.appendTo(logFile))
 			.start();
-		waitAndCheck(gitclone, "git clone", 2, TimeUnit.MINUTES);
+		waitAndCheck(gitclone, cloneEvent, 2, TimeUnit.MINUTES);
 
 
+		SubprocessEvent checkoutEvent = SubprocessEvent.begin(internalName, "git checkout");
 		Process gitcheckout = new ProcessBuilder("git", "checkout", commit + "^{commit}")
 			.redirectOutput(ProcessBuilder.Redirect.appendTo(logFile))
 			.redirectError(ProcessBuilder.Redirect.appendTo(logFile))
 			.directory(repositoryDirectory)
 			.start();
-		waitAndCheck(gitcheckout, "git checkout", 2, TimeUnit.MINUTES);
+		waitAndCheck(gitcheckout, checkoutEvent, 2, TimeUnit.MINUTES);
 	}
 
 	public void build(String runeliteVersion, boolean disallowedIsFatal) throws IOException, PluginBuildException
@@ -425,66 +447,12 @@ public class Plugin implements Closeable
 			}
 		}
 
-		try (
-			CountingOutputStream cos = new CountingOutputStream(new FileOutputStream(srcZipFile));
-			ZipOutputStream zos = new ZipOutputStream(cos))
-		{
-			@Value
-			class Entry
-			{
-				Path path;
-				String zipPath;
-				long length;
-			}
-
-			List<Entry> core = new ArrayList<>();
-			List<Entry> extras = new ArrayList<>();
-			Files.walkFileTree(repositoryDirectory.toPath(), new SimpleFileVisitor<Path>()
-			{
-				@Override
-				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException
-				{
-					if (dir.toString().contains(".git"))
-					{
-						return FileVisitResult.SKIP_SUBTREE;
-					}
-					return FileVisitResult.CONTINUE;
-				}
-
-				@Override
-				public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException
-				{
-					String zipPath = repositoryDirectory.toPath().relativize(path).toString().replace('\\', '/');
-					(zipPath.contains(".gradle") || zipPath.startsWith("src/main/") ? core : extras)
-						.add(new Entry(path, zipPath, path.toFile().length()));
-					return FileVisitResult.CONTINUE;
-				}
-			});
-
-			core.sort(Comparator.comparing(Entry::getZipPath));
-			for (Entry e : core)
-			{
-				ZipEntry ze = new ZipEntry(e.zipPath);
-				zos.putNextEntry(ze);
-				Files.copy(e.path, zos);
-				zos.closeEntry();
-			}
-
-			extras.sort(Comparator.comparing(Entry::getLength).thenComparing(Entry::getZipPath));
-			for (Entry e : extras)
-			{
-				if (cos.getCount() + e.length > MAX_SRC_SIZE_MIB * MIB)
-				{
-					writeLog("File \"{}\" is skipped from the source archive as it would make it too big ({} MiB)\n", e.zipPath, e.length / MIB);
-					continue;
-				}
-
-				ZipEntry ze = new ZipEntry(e.zipPath);
-				zos.putNextEntry(ze);
-				Files.copy(e.path, zos);
-				zos.closeEntry();
-			}
-		}
+		JarEvent sourceEvent = JarEvent.begin(internalName, "source archive");
+		sourceIndex = SourceArchive.write(repositoryDirectory.toPath(), srcZipFile, MAX_SRC_SIZE_MIB * MIB, (zipPath, length) ->
+			writeLog("File \"{}\" is skipped from the source archive as it would make it too big ({} MiB)\n", zipPath, length / MIB));
+		sourceEvent.bytes = srcZipFile.length();
+		sourceEvent.outcome = JarEvent.SUCCESS;
+		sourceEvent.commit();
 
 		try (InputStream is = Plugin.class.getResourceAsStream("verification-metadata.xml"))
 		{
@@ -501,6 +469,8 @@ public class Plugin implements Closeable
 			CancellationTokenSource cancel = GradleConnector.newCancellationTokenSource();
 			BlockingQueue<Object> queue = new ArrayBlockingQueue<>(1);
 			String buildSuccess = "success";
+			SubprocessEvent gradleEvent = SubprocessEvent.begin(internalName, "gradle");
+			ResourceSampler sampler = new ResourceSampler(new File(buildDirectory, "gradle.pid"));
 
 			con.newBuild()
 				.withArguments(
@@ -515,6 +485,7 @@ public class Plugin implements Closeable
 				.setStandardOutput(log)
 				.setStandardError(log)
 				.forTasks("runelitePluginHubPackage", "runelitePluginHubManifest")
+				.addProgressListener(buildProfile, BuildProfile.OPERATION_TYPES)
 				.withCancellationToken(cancel.token())
 				.run(new ResultHandler<>()
 				{
@@ -530,9 +501,18 @@ public class Plugin implements Closeable
 						queue.add(failure);
 					}
 				});
-			log.flush();
 
 			Object output = queue.poll(5, TimeUnit.MINUTES);
+			resourceUsage = sampler.stop();
+			writeLog("build profile:\n{}", buildProfile.summary());
+			if (resourceUsage != null)
+			{
+				writeLog("resource usage: {}\n", resourceUsage);
+			}
+			gradleEvent.outcome = output == null ? SubprocessEvent.TIMEOUT
+				: output == buildSuccess ? SubprocessEvent.SUCCESS
+				: SubprocessEvent.FAILURE;
+			gradleEvent.commit();
 			if (output == null)
 			{
 				cancel.cancel();
@@ -550,37 +530,30 @@ public class Plugin implements Closeable
 			assembleDisplayData(disallowedIsFatal);
 
 			File tmpJar = new File(buildDirectory, "plugin2.jar");
-			try (ZipInputStream zis = new ZipInputStream(new FileInputStream(jarFile));
-				ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(tmpJar)))
+			JarFinalizer.Result finalJar;
+			JarEvent finalizeEvent = JarEvent.begin(internalName, "finalize jar");
+			try
 			{
-				for (ZipEntry ze; (ze = zis.getNextEntry()) != null; )
-				{
-					zos.putNextEntry(ze);
-					ByteStreams.copy(zis, zos);
-					zos.closeEntry();
-				}
-
-				{
-					ZipEntry ze = new ZipEntry("runelite_plugin.json");
-					ze.setTime(0);
-					zos.putNextEntry(ze);
-					Writer w = new OutputStreamWriter(zos, StandardCharsets.UTF_8);
-					Util.GSON.toJson(this.displayData, w);
-					w.flush();
-					zos.closeEntry();
-				}
+				finalJar = JarFinalizer.write(jarFile, tmpJar, "runelite_plugin.json",
+					Util.GSON.toJson(this.displayData).getBytes(StandardCharsets.UTF_8));
+				finalizeEvent.bytes = finalJar.getSize();
+				finalizeEvent.outcome = JarEvent.SUCCESS;
 			}
 			catch (ZipException e)
 			{
 				throw PluginBuildException.of(this, "invalid jar", e);
 			}
+			finally
+			{
+				finalizeEvent.commit();
+			}
 			jarFile = tmpJar;
 
 			jarData.setInternalName(internalName);
 			jarData.setDisplayName(displayData.getDisplayName());
 
 			{
-				long size = jarFile.length();
+				long size = finalJar.getSize();
 				if (size > jarSizeLimitMiB * MIB)
 				{
 					throw PluginBuildException.of(this, "the output jar is {}MiB, which is above our limit of {}MiB", size / MIB, jarSizeLimitMiB);
@@ -592,11 +565,7 @@ public class Plugin implements Closeable
 				jarData.setJarSize((int) size);
 			}
 
-			jarData.setJarHash(
-				PluginHubManifest.HASH_ENCODER.encodeToString(
-					com.google.common.io.Files.asByteSource(jarFile)
-						.hash(Hashing.sha256())
-						.asBytes()));
+			jarData.setJarHash(PluginHubManifest.HASH_ENCODER.encodeToString(finalJar.getSha256()));
 			writeLog("built jar with hash {} from commit {}\n", jarData.getJarHash(), commit);
 		}
 		catch (InterruptedException e)
@@ -645,21 +614,38 @@ public class Plugin implements Closeable
 					.withFile(iconFile);
 			}
 
-			BufferedImage bimg;
-			synchronized (ImageIO.class)
+			byte[] icon = Files.readAllBytes(iconFile.toPath());
+			long iconPixels;
+			try
 			{
-				try
+				PngHeader png = PngHeader.read(icon);
+				if (png != null && (png.getWidth() > MAX_ICON_DIMENSION || png.getHeight() > MAX_ICON_DIMENSION))
 				{
-					bimg = Objects.requireNonNull(ImageIO.read(iconFile));
+					throw new IOException("png is " + png.getWidth() + "x" + png.getHeight());
 				}
-				catch (Exception e)
+
+				if (png != null && !png.isSuspicious())
 				{
-					throw PluginBuildException.of(this, "icon is invalid", e)
-						.withFile(iconFile);
+					iconPixels = (long) png.getWidth() * png.getHeight();
+				}
+				else
+				{
+					// let a real decoder decide if it is actually valid
+					BufferedImage bimg;
+					synchronized (ImageIO.class)
+					{
+						bimg = Objects.requireNonNull(ImageIO.read(new ByteArrayInputStream(icon)));
+					}
+					iconPixels = (long) bimg.getWidth() * bimg.getHeight();
 				}
 			}
+			catch (Exception e)
+			{
+				throw PluginBuildException.of(this, "icon is invalid", e)
+					.withFile(iconFile);
+			}
 
-			if (bimg.getWidth() * bimg.getHeight() > 50 * 100)
+			if (iconPixels > 50 * 100)
 			{
 				if (disallowedIsFatal)
 				{
@@ -673,104 +659,53 @@ public class Plugin implements Closeable
 			}
 
 			displayData.setIconHash(PluginHubManifest.HASH_ENCODER.encodeToString(
-				com.google.common.io.Files.asByteSource(iconFile)
-					.hash(Hashing.sha256())
-					.asBytes()));
+				Hashing.sha256().hashBytes(icon).asBytes()));
 		}
 
-		Set<String> pluginClasses = new HashSet<>();
-		Set<String> jarClasses = new HashSet<>();
+		JarEvent inspectEvent = JarEvent.begin(internalName, "inspect jar");
+		inspectEvent.bytes = jarFile.length();
+		JarInspector jar;
+		try
+		{
+			jar = JarInspector.inspect(jarFile);
+			inspectEvent.outcome = JarEvent.SUCCESS;
+		}
+		finally
 		{
-			ClassRecorder builtinApi = new ClassRecorder();
+			inspectEvent.commit();
+		}
+		if (jar.getIncompatibleClass() != null)
+		{
+			throw PluginBuildException.of(this, "plugins must be Java 11 compatible")
+				.withFile(jar.getIncompatibleClass());
+		}
 
-			try (JarInputStream jis = new JarInputStream(new FileInputStream(jarFile)))
+		Set<String> pluginClasses = jar.getPluginClasses();
+		Set<String> jarClasses = jar.getJarClasses();
+		if (apiFile.exists())
+		{
+			// we can record api symbols from the plugin's own dependencies, we need to strip those
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (FileInputStream fis = new FileInputStream(apiFile))
 			{
-				for (JarEntry je; (je = jis.getNextJarEntry()) != null; )
+				API api = API.decode(fis);
+				API.encode(out, api.missingFrom(jar.getBuiltinApi().getApi()));
+				String disallowed = api.disallowed(DISALLOWED_APIS)
+					.stream()
+					.collect(Collectors.joining("\n"));
+				if (!disallowed.isEmpty())
 				{
-					String fileName = je.getName();
-					if (!fileName.endsWith(".class"))
+					if (disallowedIsFatal)
 					{
-						continue;
+						throw PluginBuildException.of(this, "plugin uses terminally deprecated APIs:\n{}", disallowed);
 					}
-
-					boolean isMultiRelease = fileName.startsWith("META-INF/versions");
-					byte[] classData = ByteStreams.toByteArray(jis);
-
-					try
+					else
 					{
-						new ClassReader(classData).accept(new ClassVisitor(Opcodes.ASM7, builtinApi)
-						{
-							boolean extendsPlugin;
-							String name;
-
-							@SneakyThrows
-							@Override
-							public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
-							{
-								if ((version & 0xFFFF) > Opcodes.V11
-									&& !(isMultiRelease || fileName.endsWith("module-info.class")))
-								{
-									throw PluginBuildException.of(Plugin.this, "plugins must be Java 11 compatible")
-										.withFile(fileName);
-								}
-
-								jarClasses.add(name.replace('/', '.'));
-
-								extendsPlugin = "net/runelite/client/plugins/Plugin".equals(superName);
-								this.name = name;
-								super.visit(version, access, name, signature, superName, interfaces);
-							}
-
-							@Override
-							public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
-							{
-								if ("Lnet/runelite/client/plugins/PluginDescriptor;".equals(descriptor) && extendsPlugin)
-								{
-									pluginClasses.add(name.replace('/', '.'));
-								}
-
-								return null;
-							}
-						}, ClassReader.SKIP_CODE);
-					}
-					catch (IllegalArgumentException e)
-					{
-						if (isMultiRelease)
-						{
-							// allow multirelease classes to not be parsable by asm, they may be too new
-							continue;
-						}
-
-						throw e;
-					}
-				}
-			}
-
-			if (apiFile.exists())
-			{
-				// we can record api symbols from the plugin's own dependencies, we need to strip those
-				ByteArrayOutputStream out = new ByteArrayOutputStream();
-				try (FileInputStream fis = new FileInputStream(apiFile))
-				{
-					API api = API.decode(fis);
-					API.encode(out, api.missingFrom(builtinApi.getApi()));
-					String disallowed = api.disallowed(DISALLOWED_APIS)
-						.stream()
-						.collect(Collectors.joining("\n"));
-					if (!disallowed.isEmpty())
-					{
-						if (disallowedIsFatal)
-						{
-							throw PluginBuildException.of(this, "plugin uses terminally deprecated APIs:\n{}", disallowed);
-						}
-						else
-						{
-							writeLog("plugin uses terminally deprecated APIs:\n{}\n", disallowed);
-						}
+						writeLog("plugin uses terminally deprecated APIs:\n{}\n", disallowed);
 					}
 				}
-				Files.write(apiFile.toPath(), out.toByteArray());
 			}
+			Files.write(apiFile.toPath(), out.toByteArray());
 		}
 
 		{
@@ -891,7 +826,16 @@ public class Plugin implements Closeable
 	// Tests don't run this as the example plugin will fail these on purpose
 	protected void realPluginChecks() throws IOException, PluginBuildException
 	{
+		GitHistoryIndex.Entry history = gitHistory == null ? null : gitHistory.get(pluginCommitDescriptor);
+		if (history != null)
 		{
+			displayData.setLastUpdatedAt(history.getLastUpdatedAt());
+			displayData.setCreatedAt(history.getCreatedAt());
+		}
+		else
+		{
+			flushLog();
+			SubprocessEvent logEvent = SubprocessEvent.begin(internalName, "git log");
 			Process gitlog = new ProcessBuilder("git", "log", "--follow", "--format=%ct", "--", pluginCommitDescriptor.getAbsolutePath())
 				.redirectOutput(ProcessBuilder.Redirect.PIPE)
 				.redirectError(ProcessBuilder.Redirect.appendTo(logFile))
@@ -910,7 +854,7 @@ public class Plugin implements Closeable
 				}
 				displayData.setCreatedAt(Long.parseLong(lastLine));
 			}
-			waitAndCheck(gitlog, "git log ", 30, TimeUnit.SECONDS);
+			waitAndCheck(gitlog, logEvent, 30, TimeUnit.SECONDS);
 		}
 
 		if (!new File(repositoryDirectory, "LICENSE").exists())
@@ -928,42 +872,112 @@ public class Plugin implements Closeable
 		}
 	}
 
-	public void upload(UploadConfiguration uploadConfig) throws IOException
+	/**
+	 * starts uploading the plugin's artifacts. The build directory must not be deleted until the returned future completes.
+	 */
+	public CompletableFuture<Void> upload(UploadConfiguration uploadConfig) throws IOException
 	{
-		uploadConfig.put(
-			uploadConfig.getRoot().newBuilder()
-				.addPathSegment(UploadConfiguration.DIR_JAR)
-				.addPathSegment(internalName + "_" + jarData.getJarHash() + SUFFIX_JAR)
-				.build(),
-			jarFile);
+		ArtifactStore store = uploadConfig.getStore();
 
+		// everything here is named by its hash or commit, so if the path exists it already has this content
+		Map<String, ArtifactStore.Content> artifacts = new LinkedHashMap<>();
+		artifacts.put(ArtifactStore.path(UploadConfiguration.DIR_JAR, internalName + "_" + jarData.getJarHash() + SUFFIX_JAR),
+			ArtifactStore.Content.of(jarFile));
 		if (apiFile.exists())
 		{
-			uploadConfig.put(
-				uploadConfig.getRoot().newBuilder()
-					.addPathSegment(UploadConfiguration.DIR_API)
-					.addPathSegment(internalName + "_" + jarData.getJarHash() + SUFFIX_API)
-					.build(),
-				apiFile);
+			artifacts.put(ArtifactStore.path(UploadConfiguration.DIR_API, internalName + "_" + jarData.getJarHash() + SUFFIX_API),
+				ArtifactStore.Content.of(apiFile));
+		}
+		if (displayData.getIconHash() != null)
+		{
+			artifacts.put(ArtifactStore.path(UploadConfiguration.DIR_ICON, internalName + "_" + displayData.getIconHash() + SUFFIX_ICON),
+				ArtifactStore.Content.of(iconFile));
+		}
+		if (!uploadConfig.isSourceBlobs())
+		{
+			artifacts.put(ArtifactStore.path(UploadConfiguration.DIR_SOURCE, internalName, commit + SUFFIX_SOURCES),
+				ArtifactStore.Content.of(srcZipFile));
+		}
+
+		Map<String, ArtifactStore.Content> blobs = new HashMap<>();
+		if (uploadConfig.isSourceBlobs())
+		{
+			for (SourceIndex.Entry e : sourceIndex.getFiles())
+			{
+				// read back from the zip, since the packager overwrites some files in the repository after it is hashed
+				blobs.computeIfAbsent(UploadConfiguration.sourceBlobPath(e.getHash()),
+					k -> UploadConfiguration.sourceBlob(sourceZipEntry(e.getPath())));
+			}
 		}
 
-		uploadConfig.putMkDirs(
-			uploadConfig.getRoot().newBuilder()
-				.addPathSegment(UploadConfiguration.DIR_SOURCE)
-				.addPathSegment(internalName)
-				.addPathSegment(commit + SUFFIX_SOURCES)
-				.build(),
-			srcZipFile);
+		Set<String> existing = store.existing(Sets.union(artifacts.keySet(), blobs.keySet()));
+		int numArtifacts = artifacts.size();
+		artifacts.keySet().removeAll(existing);
+		blobs.keySet().removeAll(existing);
+		writeLog("uploading {}/{} artifacts\n", artifacts.size(), numArtifacts);
 
-		if (displayData.getIconHash() != null)
+		List<CompletableFuture<Void>> uploads = new ArrayList<>();
+		for (Map.Entry<String, ArtifactStore.Content> e : artifacts.entrySet())
 		{
-			uploadConfig.put(
-				uploadConfig.getRoot().newBuilder()
-					.addPathSegment(UploadConfiguration.DIR_ICON)
-					.addPathSegment(internalName + "_" + displayData.getIconHash() + SUFFIX_ICON)
-					.build(),
-				iconFile);
+			uploads.add(store.putAsync(e.getKey(), e.getValue()));
+		}
+
+		if (uploadConfig.isSourceBlobs())
+		{
+			List<CompletableFuture<Void>> blobUploads = new ArrayList<>();
+			for (Map.Entry<String, ArtifactStore.Content> e : blobs.entrySet())
+			{
+				blobUploads.add(store.putAsync(e.getKey(), e.getValue()));
+			}
+			writeLog("uploading {}/{} source blobs\n", blobUploads.size(), sourceIndex.getFiles().size());
+
+			// the index goes last so it never refers to a blob that isn't there
+			byte[] index = Util.GSON.toJson(sourceIndex).getBytes(StandardCharsets.UTF_8);
+			uploads.add(CompletableFuture.allOf(blobUploads.toArray(new CompletableFuture<?>[0]))
+				.thenCompose(v -> store.putAsync(UploadConfiguration.sourceIndexPath(internalName, commit), ArtifactStore.Content.of(index))));
 		}
+
+		return CompletableFuture.allOf(uploads.toArray(new CompletableFuture<?>[0]));
+	}
+
+	private ByteSource sourceZipEntry(String name)
+	{
+		return new ByteSource()
+		{
+			@Override
+			public InputStream openStream() throws IOException
+			{
+				ZipFile zip = new ZipFile(srcZipFile);
+				try
+				{
+					ZipEntry entry = zip.getEntry(name);
+					if (entry == null)
+					{
+						throw new FileNotFoundException(name);
+					}
+					return new FilterInputStream(zip.getInputStream(entry))
+					{
+						@Override
+						public void close() throws IOException
+						{
+							try
+							{
+								super.close();
+							}
+							finally
+							{
+								zip.close();
+							}
+						}
+					};
+				}
+				catch (IOException | RuntimeException e)
+				{
+					zip.close();
+					throw e;
+				}
+			}
+		};
 	}
 
 	public String uploadLog(UploadConfiguration uploadConfig) throws IOException
@@ -977,20 +991,20 @@ public class Plugin implements Closeable
 		{
 		}
 
-		HttpUrl url = uploadConfig.getRoot().newBuilder()
-			.addPathSegment(UploadConfiguration.DIR_LOG)
-			.addPathSegment(internalName)
-			.addPathSegment(uploadConfig.getRuneLiteVersion() + "_" + commit + ".log")
-			.build();
-		uploadConfig.putMkDirs(url, logFile);
+		String path = ArtifactStore.path(UploadConfiguration.DIR_LOG, internalName, uploadConfig.getRuneLiteVersion() + "_" + commit + SUFFIX_LOG);
+		uploadConfig.getStore().put(path, CappedLog.gzipContent(logFile, logSizeLimit));
 
-		return url.toString();
+		return uploadConfig.getStore().url(path);
 	}
 
 	public void copyArtifacts(File artifactDir) throws IOException
 	{
+		flushLog();
 		Files.copy(jarFile.toPath(), new File(artifactDir, getInternalName() + ".jar").toPath());
-		Files.copy(logFile.toPath(), new File(artifactDir, getInternalName() + ".log").toPath());
+		try (OutputStream os = new FileOutputStream(new File(artifactDir, getInternalName() + ".log")))
+		{
+			CappedLog.copy(logFile, logSizeLimit, os);
+		}
 	}
 
 	public void writeLog(String format, Object... args) throws IOException
@@ -1000,30 +1014,19 @@ public class Plugin implements Closeable
 		Throwable t = fmt.getThrowable();
 		if (t != null)
 		{
-			CharArrayWriter caw = new CharArrayWriter();
-			PrintWriter pw = new PrintWriter(caw);
-			t.printStackTrace(pw);
-			pw.flush();
-
-			Writer w = new OutputStreamWriter(log, StandardCharsets.UTF_8);
-			boolean collapsing = false;
-			for (String line : Splitter.on('\n').split(caw.toString()))
-			{
-				boolean collapse = line.startsWith("\tat org.gradle.");
-				if (collapse && !collapsing)
-				{
-					w.write("\t...\n");
-				}
-				if (!collapse)
-				{
-					w.write(line);
-					w.write('\n');
-				}
-				collapsing = collapse;
-			}
-			w.flush();
+			log.writeThrowable(t);
+		}
+	}
+
+	/**
+	 * Makes sure everything written to the log is in {@link #getLogFile()}
+	 */
+	public void flushLog() throws IOException
+	{
+		if (log != null)
+		{
+			log.flush();
 		}
-		log.flush();
 	}
 
 	static Properties loadProperties(File path) throws IOException
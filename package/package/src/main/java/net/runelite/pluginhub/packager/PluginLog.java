@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.base.Splitter;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A plugin's build log. Writes are buffered in memory and written to disk by
+ * a shared background thread, so build threads don't block on disk writes.
+ * The file is only guaranteed to be up to date after {@link #flush()}
+ */
+@Slf4j
+class PluginLog extends OutputStream
+{
+	private static final int CHUNK_SIZE = 8 * 1024;
+	// writers block once this much is waiting to be written
+	private static final int MAX_PENDING = 1024 * 1024;
+
+	private static final BlockingQueue<PluginLog> DRAIN_QUEUE = new LinkedBlockingQueue<>();
+
+	static
+	{
+		Thread writer = new Thread(PluginLog::runWriter, "PluginLog writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	private final File file;
+
+	// everything here is guarded by this
+	// each element is either a byte[] or a Throwable that hasn't been rendered yet
+	private ArrayDeque<Object> pending = new ArrayDeque<>();
+	private byte[] chunk = new byte[CHUNK_SIZE];
+	private int chunkLength;
+	private long pendingBytes;
+	private long sealedSeq;
+	private long writtenSeq;
+	private boolean queued;
+	private Throwable writeError;
+	private boolean closed;
+
+	private final Object outLock = new Object();
+	private OutputStream out;
+
+	PluginLog(File file)
+	{
+		this.file = file;
+	}
+
+	@Override
+	public void write(int b) throws IOException
+	{
+		write(new byte[]{(byte) b}, 0, 1);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException
+	{
+		checkOpen();
+		while (len > 0)
+		{
+			int n = Math.min(len, chunk.length - chunkLength);
+			System.arraycopy(b, off, chunk, chunkLength, n);
+			chunkLength += n;
+			off += n;
+			len -= n;
+			if (chunkLength == chunk.length)
+			{
+				seal();
+			}
+		}
+
+		if (pendingBytes > MAX_PENDING)
+		{
+			waitForWriter(sealedSeq);
+		}
+	}
+
+	/**
+	 * Writes the throwable's stack trace. The trace is formatted on the writer thread
+	 */
+	synchronized void writeThrowable(Throwable t) throws IOException
+	{
+		checkOpen();
+		seal();
+		pending.add(t);
+		sealedSeq++;
+	}
+
+	/**
+	 * Blocks until everything written so far is on disk
+	 */
+	@Override
+	public synchronized void flush() throws IOException
+	{
+		if (closed)
+		{
+			return;
+		}
+		seal();
+		waitForWriter(sealedSeq);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		synchronized (this)
+		{
+			if (closed)
+			{
+				return;
+			}
+			flush();
+			closed = true;
+		}
+
+		synchronized (outLock)
+		{
+			if (out != null)
+			{
+				out.close();
+				out = null;
+			}
+		}
+	}
+
+	private void checkOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("log is closed");
+		}
+	}
+
+	private void seal()
+	{
+		if (chunkLength > 0)
+		{
+			pending.add(chunkLength == chunk.length ? chunk : Arrays.copyOf(chunk, chunkLength));
+			pendingBytes += chunkLength;
+			sealedSeq++;
+			if (chunkLength == chunk.length)
+			{
+				chunk = new byte[CHUNK_SIZE];
+			}
+			chunkLength = 0;
+		}
+	}
+
+	private void waitForWriter(long seq) throws IOException
+	{
+		if (writtenSeq < seq && !queued)
+		{
+			queued = true;
+			DRAIN_QUEUE.add(this);
+		}
+
+		try
+		{
+			while (writtenSeq < seq && writeError == null)
+			{
+				wait();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+
+		if (writeError != null)
+		{
+			throw new IOException("unable to write log", writeError);
+		}
+	}
+
+	private static void runWriter()
+	{
+		for (; ; )
+		{
+			try
+			{
+				DRAIN_QUEUE.take().drain();
+			}
+			catch (InterruptedException e)
+			{
+				return;
+			}
+		}
+	}
+
+	private void drain()
+	{
+		ArrayDeque<Object> batch;
+		long seq;
+		synchronized (this)
+		{
+			queued = false;
+			batch = pending;
+			seq = sealedSeq;
+			pending = new ArrayDeque<>();
+		}
+
+		Throwable error = null;
+		try
+		{
+			synchronized (outLock)
+			{
+				if (out == null)
+				{
+					out = new FileOutputStream(file, true);
+				}
+
+				for (Object o : batch)
+				{
+					if (o instanceof byte[])
+					{
+						out.write((byte[]) o);
+					}
+					else
+					{
+						writeStackTrace(out, (Throwable) o);
+					}
+				}
+				out.flush();
+			}
+		}
+		catch (Throwable e)
+		{
+			// anything thrown here would kill the shared writer, and leave every log waiting on it forever
+			log.warn("unable to write log {}", file, e);
+			error = e;
+		}
+
+		synchronized (this)
+		{
+			writtenSeq = seq;
+			pendingBytes = 0;
+			for (Object o : pending)
+			{
+				if (o instanceof byte[])
+				{
+					pendingBytes += ((byte[]) o).length;
+				}
+			}
+			if (error != null)
+			{
+				writeError = error;
+			}
+			notifyAll();
+		}
+	}
+
+	static void writeStackTrace(OutputStream out, Throwable t) throws IOException
+	{
+		StringWriter sw = new StringWriter();
+		t.printStackTrace(new PrintWriter(sw));
+
+		// gradle's frames are never interesting to plugin authors
+		Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		boolean collapsing = false;
+		for (String line : Splitter.on('\n').split(sw.toString()))
+		{
+			boolean collapse = line.startsWith("\tat org.gradle.");
+			if (collapse && !collapsing)
+			{
+				w.write("\t...\n");
+			}
+			if (!collapse)
+			{
+				w.write(line);
+				w.write('\n');
+			}
+			collapsing = collapse;
+		}
+		w.flush();
+	}
+}
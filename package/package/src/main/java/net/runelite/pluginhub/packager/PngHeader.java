@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Reads the dimensions of a png and checks its chunk structure and that its
+ * image data inflates to the size the header says, without unfiltering it
+ */
+@Value
+class PngHeader
+{
+	private static final long SIGNATURE = 0x89504E470D0A1A0AL;
+
+	private static final int IHDR = chunkType("IHDR");
+	private static final int PLTE = chunkType("PLTE");
+	private static final int IDAT = chunkType("IDAT");
+	private static final int IEND = chunkType("IEND");
+
+	// larger images are left for a real decoder, instead of being inflated here
+	private static final long MAX_VERIFIED_DATA = 1 << 20;
+
+	// x start, y start, x step, y step
+	private static final int[][] ADAM7 = {
+		{0, 0, 8, 8},
+		{4, 0, 8, 8},
+		{0, 4, 4, 8},
+		{2, 0, 4, 4},
+		{0, 2, 2, 4},
+		{1, 0, 2, 2},
+		{0, 1, 1, 2},
+	};
+
+	int width;
+	int height;
+
+	/**
+	 * The file is structurally valid, but has something that we can't be sure
+	 * a real decoder will accept, such as trailing data, unknown critical chunks,
+	 * or too much image data to check
+	 */
+	boolean suspicious;
+
+	/**
+	 * @return null if the data isn't a png at all
+	 * @throws IOException if the data is a corrupt png
+	 */
+	@Nullable
+	static PngHeader read(byte[] data) throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		if (buf.remaining() < 8 || buf.getLong() != SIGNATURE)
+		{
+			return null;
+		}
+
+		CRC32 crc = new CRC32();
+		int width = 0;
+		int height = 0;
+		int colorType = 0;
+		boolean suspicious = false;
+		boolean seenPalette = false;
+		boolean seenData = false;
+		long expectedData = 0;
+		long inflated = 0;
+		byte[] scratch = new byte[8192];
+		Inflater inflater = null;
+		try
+		{
+			for (int chunk = 0; ; chunk++)
+			{
+				if (buf.remaining() < 12)
+				{
+					throw new IOException("png is truncated");
+				}
+
+				int length = buf.getInt();
+				int start = buf.position();
+				if (length < 0 || length > buf.remaining() - 8)
+				{
+					throw new IOException("png chunk length is invalid");
+				}
+
+				int type = buf.getInt();
+				crc.reset();
+				crc.update(data, start, length + 4);
+				buf.position(start + 4 + length);
+				if ((int) crc.getValue() != buf.getInt())
+				{
+					throw new IOException("png chunk " + chunkName(type) + " has an invalid crc");
+				}
+
+				if (chunk == 0)
+				{
+					if (type != IHDR || length != 13)
+					{
+						throw new IOException("png does not start with IHDR");
+					}
+
+					ByteBuffer ihdr = ByteBuffer.wrap(data, start + 4, length);
+					width = ihdr.getInt();
+					height = ihdr.getInt();
+					int bitDepth = ihdr.get() & 0xFF;
+					colorType = ihdr.get() & 0xFF;
+					int compression = ihdr.get();
+					int filter = ihdr.get();
+					int interlace = ihdr.get();
+					if (width <= 0 || height <= 0)
+					{
+						throw new IOException("png has invalid dimensions");
+					}
+					if (!validDepth(colorType, bitDepth) || compression != 0 || filter != 0 || (interlace != 0 && interlace != 1))
+					{
+						throw new IOException("png has an invalid header");
+					}
+
+					expectedData = imageDataSize(width, height, colorType, bitDepth, interlace);
+					if (expectedData <= MAX_VERIFIED_DATA)
+					{
+						inflater = new Inflater();
+					}
+					else
+					{
+						suspicious = true;
+					}
+					continue;
+				}
+
+				if (type == IHDR)
+				{
+					throw new IOException("png has multiple IHDR chunks");
+				}
+				else if (type == PLTE)
+				{
+					seenPalette = true;
+				}
+				else if (type == IDAT)
+				{
+					seenData = true;
+					if (inflater != null)
+					{
+						inflater.setInput(data, start + 4, length);
+						inflated += inflate(inflater, scratch, expectedData - inflated);
+					}
+				}
+				else if (type == IEND)
+				{
+					break;
+				}
+				else if ((type & 0x20000000) == 0)
+				{
+					// critical chunk we don't know about
+					suspicious = true;
+				}
+			}
+
+			if (!seenData)
+			{
+				throw new IOException("png has no image data");
+			}
+			if (colorType == 3 && !seenPalette)
+			{
+				throw new IOException("png is missing its palette");
+			}
+			if (inflater != null && (!inflater.finished() || inflated != expectedData))
+			{
+				throw new IOException("png image data is corrupt");
+			}
+			if (buf.hasRemaining())
+			{
+				suspicious = true;
+			}
+		}
+		finally
+		{
+			if (inflater != null)
+			{
+				inflater.end();
+			}
+		}
+
+		return new PngHeader(width, height, suspicious);
+	}
+
+	/**
+	 * @return how many bytes were inflated
+	 * @throws IOException if the data is invalid, or inflates to more than {@code limit} bytes
+	 */
+	private static long inflate(Inflater inflater, byte[] scratch, long limit) throws IOException
+	{
+		long inflated = 0;
+		try
+		{
+			for (int n; (n = inflater.inflate(scratch)) > 0; )
+			{
+				inflated += n;
+				if (inflated > limit)
+				{
+					throw new IOException("png image data is larger than its dimensions");
+				}
+			}
+		}
+		catch (DataFormatException e)
+		{
+			throw new IOException("png image data is corrupt", e);
+		}
+
+		if (inflater.needsDictionary())
+		{
+			throw new IOException("png image data is corrupt");
+		}
+		return inflated;
+	}
+
+	/**
+	 * the size of the filtered scanlines the image data inflates to
+	 */
+	private static long imageDataSize(long width, long height, int colorType, int bitDepth, int interlace)
+	{
+		long bitsPerPixel = (long) channels(colorType) * bitDepth;
+		if (interlace == 0)
+		{
+			return height * (1 + (width * bitsPerPixel + 7) / 8);
+		}
+
+		long size = 0;
+		for (int[] pass : ADAM7)
+		{
+			long w = (width - pass[0] + pass[2] - 1) / pass[2];
+			long h = (height - pass[1] + pass[3] - 1) / pass[3];
+			if (w > 0 && h > 0)
+			{
+				size += h * (1 + (w * bitsPerPixel + 7) / 8);
+			}
+		}
+		return size;
+	}
+
+	private static int channels(int colorType)
+	{
+		switch (colorType)
+		{
+			case 2:
+				return 3;
+			case 4:
+				return 2;
+			case 6:
+				return 4;
+			default:
+				return 1;
+		}
+	}
+
+	private static boolean validDepth(int colorType, int bitDepth)
+	{
+		switch (colorType)
+		{
+			case 0:
+				return bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+			case 3:
+				return bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+			case 2:
+			case 4:
+			case 6:
+				return bitDepth == 8 || bitDepth == 16;
+			default:
+				return false;
+		}
+	}
+
+	private static int chunkType(String name)
+	{
+		return ByteBuffer.wrap(name.getBytes(StandardCharsets.US_ASCII)).getInt();
+	}
+
+	private static String chunkName(int type)
+	{
+		return new String(ByteBuffer.allocate(4).putInt(type).array(), StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.base.Splitter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Samples the cpu time, resident memory and disk io of a gradle daemon and its
+ * children through /proc while it builds a plugin. Daemons are reused between
+ * builds, so cpu and io are the difference between the first and last samples,
+ * but the resident size includes whatever the daemon kept from earlier builds.
+ */
+class ResourceSampler
+{
+	// USER_HZ, which is 100 on every platform we run on
+	private static final long CLOCK_TICKS_PER_SECOND = 100;
+	private static final long SAMPLE_INTERVAL_MS = 250;
+
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r ->
+	{
+		Thread t = new Thread(r, "ResourceSampler");
+		t.setDaemon(true);
+		return t;
+	});
+
+	@Value
+	static class Usage
+	{
+		long cpuMillis;
+		long peakRssBytes;
+		long readBytes;
+		long writeBytes;
+		int processes;
+
+		@Override
+		public String toString()
+		{
+			return String.format("cpu %dms, peak rss %dMiB, read %dMiB, written %dMiB, %d processes",
+				cpuMillis, peakRssBytes >> 20, readBytes >> 20, writeBytes >> 20, processes);
+		}
+	}
+
+	@Value
+	static class Sample
+	{
+		long cpuTicks;
+		long rssBytes;
+		long readBytes;
+		long writeBytes;
+	}
+
+	private final File pidFile;
+	private final Map<Long, Sample> first = new HashMap<>();
+	private final Map<Long, Sample> last = new HashMap<>();
+	private long peakRssBytes;
+
+	@Nullable
+	private final ScheduledFuture<?> future;
+
+	/**
+	 * @param pidFile a file the daemon writes its pid into once the build starts
+	 */
+	ResourceSampler(File pidFile)
+	{
+		this.pidFile = pidFile;
+		pidFile.delete();
+		future = isSupported()
+			? EXECUTOR.scheduleAtFixedRate(this::sample, SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+			: null;
+	}
+
+	static boolean isSupported()
+	{
+		return new File("/proc/self/stat").exists();
+	}
+
+	/**
+	 * stops sampling and returns the usage, or null if the daemon never reported its pid
+	 */
+	@Nullable
+	Usage stop()
+	{
+		if (future == null)
+		{
+			return null;
+		}
+
+		future.cancel(false);
+		sample();
+		return usage();
+	}
+
+	@Nullable
+	synchronized Usage usage()
+	{
+		if (first.isEmpty())
+		{
+			return null;
+		}
+
+		long cpuTicks = 0, readBytes = 0, writeBytes = 0;
+		for (Map.Entry<Long, Sample> e : last.entrySet())
+		{
+			Sample start = first.get(e.getKey());
+			Sample end = e.getValue();
+			cpuTicks += end.getCpuTicks() - start.getCpuTicks();
+			readBytes += end.getReadBytes() - start.getReadBytes();
+			writeBytes += end.getWriteBytes() - start.getWriteBytes();
+		}
+		return new Usage(cpuTicks * 1000 / CLOCK_TICKS_PER_SECOND, peakRssBytes, readBytes, writeBytes, first.size());
+	}
+
+	private synchronized void sample()
+	{
+		long pid;
+		try
+		{
+			pid = Long.parseLong(new String(Files.readAllBytes(pidFile.toPath()), StandardCharsets.UTF_8).trim());
+		}
+		catch (IOException | NumberFormatException e)
+		{
+			// the daemon hasn't started the build yet
+			return;
+		}
+
+		List<Long> pids = ProcessHandle.of(pid)
+			.map(ph -> Stream.concat(Stream.of(ph), ph.descendants()))
+			.orElseGet(Stream::empty)
+			.map(ProcessHandle::pid)
+			.collect(Collectors.toList());
+
+		long rssBytes = 0;
+		for (long p : pids)
+		{
+			Sample s = read(Paths.get("/proc", Long.toString(p)));
+			if (s == null)
+			{
+				continue;
+			}
+
+			first.putIfAbsent(p, s);
+			last.put(p, s);
+			rssBytes += s.getRssBytes();
+		}
+		peakRssBytes = Math.max(peakRssBytes, rssBytes);
+	}
+
+	@Nullable
+	static Sample read(Path procDir)
+	{
+		try
+		{
+			String stat = new String(Files.readAllBytes(procDir.resolve("stat")), StandardCharsets.UTF_8);
+			String status = new String(Files.readAllBytes(procDir.resolve("status")), StandardCharsets.UTF_8);
+			Map<String, String> io;
+			try
+			{
+				io = parseFields(new String(Files.readAllBytes(procDir.resolve("io")), StandardCharsets.UTF_8));
+			}
+			catch (IOException e)
+			{
+				// io accounting may be disabled or not readable
+				io = new HashMap<>();
+			}
+
+			return new Sample(
+				parseCpuTicks(stat),
+				parseKiB(parseFields(status).get("VmRSS")) * 1024,
+				Long.parseLong(io.getOrDefault("read_bytes", "0")),
+				Long.parseLong(io.getOrDefault("write_bytes", "0")));
+		}
+		catch (IOException | RuntimeException e)
+		{
+			// the process exited while we were reading it
+			return null;
+		}
+	}
+
+	static long parseCpuTicks(String stat)
+	{
+		// the command name can contain spaces and parens, so start after the last one
+		List<String> fields = Splitter.on(' ')
+			.splitToList(stat.substring(stat.lastIndexOf(')') + 2).trim());
+		// utime and stime are the 14th and 15th fields, and this list starts at the 3rd
+		return Long.parseLong(fields.get(11)) + Long.parseLong(fields.get(12));
+	}
+
+	static Map<String, String> parseFields(String text)
+	{
+		Map<String, String> fields = new HashMap<>();
+		for (String line : Splitter.on('\n').omitEmptyStrings().split(text))
+		{
+			int colon = line.indexOf(':');
+			if (colon != -1)
+			{
+				fields.put(line.substring(0, colon), line.substring(colon + 1).trim());
+			}
+		}
+		return fields;
+	}
+
+	private static long parseKiB(@Nullable String value)
+	{
+		if (value == null)
+		{
+			// kernel threads and zombies have no VmRSS
+			return 0;
+		}
+		return Long.parseLong(Splitter.on(' ').splitToList(value).get(0));
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.CountingOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import lombok.Value;
+import net.runelite.pluginhub.uploader.PluginHubManifest;
+import net.runelite.pluginhub.uploader.SourceIndex;
+
+/**
+ * Packs a plugin's repository into the source zip, recording the hash of each
+ * file so it can also be uploaded as a {@link SourceIndex}
+ */
+class SourceArchive
+{
+	interface SkipListener
+	{
+		void skipped(String zipPath, long length) throws IOException;
+	}
+
+	@Value
+	private static class Entry
+	{
+		Path path;
+		String zipPath;
+		long length;
+	}
+
+	private SourceArchive()
+	{
+	}
+
+	static SourceIndex write(Path repositoryDirectory, File zipFile, long sizeLimit, SkipListener onSkip) throws IOException
+	{
+		SourceIndex index = new SourceIndex();
+		try (
+			CountingOutputStream cos = new CountingOutputStream(new FileOutputStream(zipFile));
+			ZipOutputStream zos = new ZipOutputStream(cos))
+		{
+			List<Entry> core = new ArrayList<>();
+			List<Entry> extras = new ArrayList<>();
+			Files.walkFileTree(repositoryDirectory, new SimpleFileVisitor<Path>()
+			{
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException
+				{
+					if (dir.toString().contains(".git"))
+					{
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) throws IOException
+				{
+					String zipPath = repositoryDirectory.relativize(path).toString().replace('\\', '/');
+					(zipPath.contains(".gradle") || zipPath.startsWith("src/main/") ? core : extras)
+						.add(new Entry(path, zipPath, path.toFile().length()));
+					return FileVisitResult.CONTINUE;
+				}
+			});
+
+			core.sort(Comparator.comparing(Entry::getZipPath));
+			for (Entry e : core)
+			{
+				index.getFiles().add(writeEntry(zos, e));
+			}
+
+			extras.sort(Comparator.comparing(Entry::getLength).thenComparing(Entry::getZipPath));
+			for (Entry e : extras)
+			{
+				if (cos.getCount() + e.length > sizeLimit)
+				{
+					onSkip.skipped(e.zipPath, e.length);
+					continue;
+				}
+
+				index.getFiles().add(writeEntry(zos, e));
+			}
+		}
+		return index;
+	}
+
+	private static SourceIndex.Entry writeEntry(ZipOutputStream zos, Entry e) throws IOException
+	{
+		ZipEntry ze = new ZipEntry(e.zipPath);
+		zos.putNextEntry(ze);
+		HashingOutputStream hos = new HashingOutputStream(Hashing.sha256(), zos);
+		Files.copy(e.path, hos);
+		zos.closeEntry();
+
+		return new SourceIndex.Entry(e.zipPath, PluginHubManifest.HASH_ENCODER.encodeToString(hos.hash().asBytes()), e.length);
+	}
+
+}
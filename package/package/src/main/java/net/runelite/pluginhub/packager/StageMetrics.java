@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/**
+ * How long plugins wait to enter a {@link Packager} stage, how long they spend in
+ * it, and how many of the stage's permits are in use over time
+ */
+class StageMetrics
+{
+	// upper bounds of the histogram buckets, in seconds; the last bucket is +Inf
+	private static final double[] BUCKETS = {
+		.001, .005, .01, .05, .1, .25, .5, 1, 2.5, 5, 10, 30, 60, 120, 300, 600,
+	};
+
+	@Getter
+	private final String name;
+
+	@Getter
+	private final int permits;
+
+	private final Histogram wait = new Histogram();
+	private final Histogram service = new Histogram();
+
+	private final long startNanos = System.nanoTime();
+	private long lastChangeNanos = startNanos;
+	private int inUse;
+	private int maxInUse;
+	// integral of inUse over time
+	private double permitNanos;
+
+	StageMetrics(String name, int permits)
+	{
+		this.name = name;
+		this.permits = permits;
+	}
+
+	synchronized void acquired(long waitNanos)
+	{
+		wait.record(waitNanos);
+		updateOccupancy(1);
+	}
+
+	synchronized void released(long serviceNanos)
+	{
+		service.record(serviceNanos);
+		updateOccupancy(-1);
+	}
+
+	private void updateOccupancy(int delta)
+	{
+		long now = System.nanoTime();
+		permitNanos += (double) inUse * (now - lastChangeNanos);
+		lastChangeNanos = now;
+		inUse += delta;
+		maxInUse = Math.max(maxInUse, inUse);
+	}
+
+	/**
+	 * @return the average fraction of the permits that were in use
+	 */
+	private double occupancy()
+	{
+		long elapsed = lastChangeNanos - startNanos;
+		return elapsed == 0 ? 0 : permitNanos / elapsed / permits;
+	}
+
+	private static class Histogram
+	{
+		private final long[] counts = new long[BUCKETS.length + 1];
+		private long count;
+		private double sum;
+		private double max;
+
+		void record(long nanos)
+		{
+			double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+			int i = 0;
+			while (i < BUCKETS.length && seconds > BUCKETS[i])
+			{
+				i++;
+			}
+			counts[i]++;
+			count++;
+			sum += seconds;
+			max = Math.max(max, seconds);
+		}
+
+		void writeJson(JsonWriter w) throws IOException
+		{
+			w.beginObject();
+			w.name("count").value(count);
+			w.name("sumSeconds").value(sum);
+			w.name("maxSeconds").value(max);
+			w.name("buckets").beginArray();
+			for (int i = 0; i < counts.length; i++)
+			{
+				w.beginObject();
+				w.name("le").value(i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf");
+				w.name("count").value(counts[i]);
+				w.endObject();
+			}
+			w.endArray();
+			w.endObject();
+		}
+
+		void writePrometheus(PrintWriter w, String metric, String stage)
+		{
+			long cumulative = 0;
+			for (int i = 0; i < counts.length; i++)
+			{
+				cumulative += counts[i];
+				w.printf("%s_bucket{stage=\"%s\",le=\"%s\"} %d\n", metric, stage, i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf", cumulative);
+			}
+			w.printf("%s_sum{stage=\"%s\"} %s\n", metric, stage, Double.toString(sum));
+			w.printf("%s_count{stage=\"%s\"} %d\n", metric, stage, count);
+		}
+	}
+
+	static void writeJson(Collection<StageMetrics> stages, Writer out) throws IOException
+	{
+		JsonWriter w = new JsonWriter(out);
+		w.setIndent("\t");
+		w.beginObject();
+		w.name("stages").beginArray();
+		for (StageMetrics stage : stages)
+		{
+			synchronized (stage)
+			{
+				w.beginObject();
+				w.name("name").value(stage.name);
+				w.name("permits").value(stage.permits);
+				w.name("maxPermitsInUse").value(stage.maxInUse);
+				w.name("occupancy").value(stage.occupancy());
+				w.name("wait");
+				stage.wait.writeJson(w);
+				w.name("service");
+				stage.service.writeJson(w);
+				w.endObject();
+			}
+		}
+		w.endArray();
+		w.endObject();
+		w.flush();
+	}
+
+	static void writePrometheus(Collection<StageMetrics> stages, Writer out)
+	{
+		PrintWriter w = new PrintWriter(out);
+		w.print("# HELP pluginhub_stage_wait_seconds Time spent waiting for a permit to enter the stage\n");
+		w.print("# TYPE pluginhub_stage_wait_seconds histogram\n");
+		for (StageMetrics stage : stages)
+		{
+			synchronized (stage)
+			{
+				stage.wait.writePrometheus(w, "pluginhub_stage_wait_seconds", stage.name);
+			}
+		}
+
+		w.print("# HELP pluginhub_stage_service_seconds Time spent in the stage while holding a permit\n");
+		w.print("# TYPE pluginhub_stage_service_seconds histogram\n");
+		for (StageMetrics stage : stages)
+		{
+			synchronized (stage)
+			{
+				stage.service.writePrometheus(w, "pluginhub_stage_service_seconds", stage.name);
+			}
+		}
+
+		w.print("# HELP pluginhub_stage_permits Number of permits the stage has\n");
+		w.print("# TYPE pluginhub_stage_permits gauge\n");
+		for (StageMetrics stage : stages)
+		{
+			w.printf("pluginhub_stage_permits{stage=\"%s\"} %d\n", stage.name, stage.permits);
+		}
+
+		w.print("# HELP pluginhub_stage_permits_max_in_use Most permits that were in use at once\n");
+		w.print("# TYPE pluginhub_stage_permits_max_in_use gauge\n");
+		for (StageMetrics stage : stages)
+		{
+			synchronized (stage)
+			{
+				w.printf("pluginhub_stage_permits_max_in_use{stage=\"%s\"} %d\n", stage.name, stage.maxInUse);
+			}
+		}
+
+		w.print("# HELP pluginhub_stage_occupancy Average fraction of the stage's permits that were in use\n");
+		w.print("# TYPE pluginhub_stage_occupancy gauge\n");
+		for (StageMetrics stage : stages)
+		{
+			synchronized (stage)
+			{
+				w.printf("pluginhub_stage_occupancy{stage=\"%s\"} %s\n", stage.name, Double.toString(stage.occupancy()));
+			}
+		}
+		w.flush();
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+
+/**
+ * Records spans of work done by {@link Packager} and writes them as Chrome trace
+ * events, which can be loaded into chrome://tracing or Perfetto. Spans that start
+ * and end on different threads are written as async events keyed by plugin, since
+ * complete events must nest on the thread they are recorded on.
+ * {@link #DISABLED} records nothing, so a run that isn't traced doesn't keep every span in memory.
+ */
+class TraceRecorder
+{
+	@Value
+	private static class Event
+	{
+		String name;
+		String category;
+		String plugin;
+		long threadId;
+		String threadName;
+		long startNanos;
+		long endNanos;
+		boolean async;
+	}
+
+	static final TraceRecorder DISABLED = new TraceRecorder(false);
+
+	private static final Closeable NOOP = () ->
+	{
+	};
+
+	private final boolean enabled;
+	private final long startNanos = System.nanoTime();
+	private final List<Event> events = new ArrayList<>();
+
+	TraceRecorder()
+	{
+		this(true);
+	}
+
+	private TraceRecorder(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	Closeable span(String name, String category, String plugin)
+	{
+		if (!enabled)
+		{
+			return NOOP;
+		}
+
+		long start = System.nanoTime();
+		return () -> record(name, category, plugin, start, System.nanoTime());
+	}
+
+	void record(String name, String category, String plugin, long startNanos, long endNanos)
+	{
+		add(name, category, plugin, startNanos, endNanos, false);
+	}
+
+	/**
+	 * records a span that may have ended on a different thread than it started on
+	 */
+	void recordAsync(String name, String category, String plugin, long startNanos, long endNanos)
+	{
+		add(name, category, plugin, startNanos, endNanos, true);
+	}
+
+	private void add(String name, String category, String plugin, long startNanos, long endNanos, boolean async)
+	{
+		if (!enabled)
+		{
+			return;
+		}
+
+		Thread thread = Thread.currentThread();
+		Event ev = new Event(name, category, plugin, thread.getId(), thread.getName(), startNanos, endNanos, async);
+		synchronized (events)
+		{
+			events.add(ev);
+		}
+	}
+
+	void write(Writer out) throws IOException
+	{
+		List<Event> events;
+		synchronized (this.events)
+		{
+			events = new ArrayList<>(this.events);
+		}
+
+		JsonWriter w = new JsonWriter(out);
+		w.beginObject();
+		w.name("displayTimeUnit").value("ms");
+		w.name("traceEvents").beginArray();
+
+		Map<Long, String> threads = new LinkedHashMap<>();
+		for (Event ev : events)
+		{
+			threads.putIfAbsent(ev.getThreadId(), ev.getThreadName());
+		}
+		for (Map.Entry<Long, String> thread : threads.entrySet())
+		{
+			w.beginObject();
+			w.name("name").value("thread_name");
+			w.name("ph").value("M");
+			w.name("pid").value(1);
+			w.name("tid").value(thread.getKey());
+			w.name("args").beginObject();
+			w.name("name").value(thread.getValue());
+			w.endObject();
+			w.endObject();
+		}
+
+		for (Event ev : events)
+		{
+			if (ev.isAsync())
+			{
+				writeEvent(w, ev, "b", ev.getStartNanos());
+				writeEvent(w, ev, "e", ev.getEndNanos());
+				continue;
+			}
+
+			w.beginObject();
+			w.name("name").value(ev.getName());
+			w.name("cat").value(ev.getCategory());
+			w.name("ph").value("X");
+			w.name("pid").value(1);
+			w.name("tid").value(ev.getThreadId());
+			w.name("ts").value(micros(ev.getStartNanos()));
+			w.name("dur").value(micros(ev.getEndNanos()) - micros(ev.getStartNanos()));
+			w.name("args").beginObject();
+			w.name("plugin").value(ev.getPlugin());
+			w.endObject();
+			w.endObject();
+		}
+
+		w.endArray();
+		w.endObject();
+		w.flush();
+	}
+
+	private void writeEvent(JsonWriter w, Event ev, String phase, long nanos) throws IOException
+	{
+		w.beginObject();
+		w.name("name").value(ev.getName());
+		w.name("cat").value(ev.getCategory());
+		w.name("ph").value(phase);
+		w.name("id").value(ev.getPlugin());
+		w.name("pid").value(1);
+		w.name("tid").value(ev.getThreadId());
+		w.name("ts").value(micros(nanos));
+		w.name("args").beginObject();
+		w.name("plugin").value(ev.getPlugin());
+		w.endObject();
+		w.endObject();
+	}
+
+	private long micros(long nanos)
+	{
+		return TimeUnit.NANOSECONDS.toMicros(nanos - startNanos);
+	}
+}
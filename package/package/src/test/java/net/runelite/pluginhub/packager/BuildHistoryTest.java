@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BuildHistoryTest
+{
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	private static BuildHistory.Record record(String plugin, long buildMS, long jarSize)
+	{
+		BuildHistory.Record r = new BuildHistory.Record();
+		r.setPlugin(plugin);
+		r.setCommit("abc");
+		r.setRuneliteVersion("1.10.0");
+		r.setSuccess(true);
+		r.getStagesMS().put("download", 1000L);
+		r.getStagesMS().put("build", buildMS);
+		r.setJarSize(jarSize);
+		return r;
+	}
+
+	@Test
+	public void testHistory() throws IOException
+	{
+		File file = new File(tmp.getRoot(), "history.jsonl");
+
+		BuildHistory h = BuildHistory.load(file);
+		Assert.assertEquals(-1, h.estimateMillis("example"));
+		for (long ms : new long[]{20_000, 22_000, 21_000})
+		{
+			h.add(record("example", ms, 100_000));
+		}
+		h.add(record("other", 5_000, 1_000));
+		h.save();
+
+		h = BuildHistory.load(file);
+		Assert.assertEquals(22_000, h.estimateMillis("example"));
+		Assert.assertEquals(-1, h.estimateMillis("other"));
+
+		h.add(record("example", 60_000, 100_000));
+		h.add(record("example", 21_000, 200_000));
+		BuildHistory.Record failed = record("example", 90_000, 0);
+		failed.setSuccess(false);
+		h.add(failed);
+
+		List<String> regressions = h.regressions(1.5);
+		Assert.assertEquals(2, regressions.size());
+		Assert.assertEquals("example: build took 60000ms, usually 21000ms", regressions.get(0));
+		Assert.assertEquals("example: jar is 200000 bytes, usually 100000 bytes", regressions.get(1));
+	}
+}
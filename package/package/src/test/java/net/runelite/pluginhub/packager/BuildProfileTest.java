@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.OperationResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BuildProfileTest
+{
+	@Test
+	public void testMerge() throws IOException
+	{
+		BuildProfile a = new BuildProfile();
+		a.record(BuildProfile.TASK, ":compileJava", 2000, 0, false);
+		a.record(BuildProfile.TASK, ":jar", 50, 0, true);
+		a.record(BuildProfile.DOWNLOAD, "repo.maven.apache.org", 300, 4096, false);
+
+		BuildProfile b = new BuildProfile();
+		b.record(BuildProfile.TASK, ":compileJava", 1000, 0, false);
+		b.record(BuildProfile.RESOLVE, ":compileClasspath", 700, 0, false);
+
+		BuildProfile total = new BuildProfile();
+		total.merge(a);
+		total.merge(b);
+
+		Assert.assertEquals(3050, total.total(BuildProfile.TASK).getMillis());
+		Assert.assertEquals(3, total.total(BuildProfile.TASK).getCount());
+		Assert.assertEquals(0, total.total(BuildProfile.CONFIGURATION).getCount());
+
+		String summary = total.summary();
+		Assert.assertTrue(summary, summary.contains("task: 3050ms\n  :compileJava: 3000ms (2x)\n  :jar: 50ms (1 up-to-date)\n"));
+		Assert.assertTrue(summary, summary.contains("download: 300ms, 4KiB\n"));
+
+		StringWriter json = new StringWriter();
+		total.writeJson(json);
+		JsonObject compile = new JsonParser().parse(json.toString())
+			.getAsJsonObject()
+			.getAsJsonObject(BuildProfile.TASK)
+			.getAsJsonObject(":compileJava");
+		Assert.assertEquals(2, compile.get("count").getAsInt());
+		Assert.assertEquals(3000, compile.get("millis").getAsLong());
+	}
+
+	@Test
+	public void testResolve()
+	{
+		BuildProfile profile = new BuildProfile();
+		profile.statusChanged(genericFinish("Resolve dependencies of :compileClasspath", 100, 350));
+		profile.statusChanged(genericFinish("Execute transform", 100, 200));
+
+		Assert.assertEquals("resolve: 250ms\n  :compileClasspath: 250ms\n", profile.summary());
+	}
+
+	private static FinishEvent genericFinish(String name, long start, long end)
+	{
+		OperationDescriptor descriptor = proxy(OperationDescriptor.class, method ->
+			"getName".equals(method) || "getDisplayName".equals(method) ? name : null);
+		OperationResult result = proxy(OperationResult.class, method ->
+			"getStartTime".equals(method) ? start : "getEndTime".equals(method) ? (Object) end : null);
+		return proxy(FinishEvent.class, method ->
+			"getDescriptor".equals(method) ? descriptor : "getResult".equals(method) ? result : null);
+	}
+
+	private static <T> T proxy(Class<T> type, Function<String, Object> methods)
+	{
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+			(p, method, args) -> methods.apply(method.getName())));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.io.Files;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CappedLogTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSmall() throws IOException
+	{
+		File file = folder.newFile("log");
+		Files.asCharSink(file, StandardCharsets.UTF_8).write("line 1\nline 2\n");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CappedLog.copy(file, 1024, out);
+		Assert.assertEquals("line 1\nline 2\n", out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testTruncated() throws IOException
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10_000; i++)
+		{
+			sb.append("line ").append(i).append('\n');
+		}
+		File file = folder.newFile("log");
+		Files.asCharSink(file, StandardCharsets.UTF_8).write(sb);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CappedLog.copy(file, 1000, out);
+		String text = out.toString(StandardCharsets.UTF_8);
+
+		Assert.assertTrue(text.length() < 1100);
+		Assert.assertTrue(text.startsWith("line 0\nline 1\n"));
+		Assert.assertTrue(text.contains(" bytes truncated ...\nline "));
+		Assert.assertTrue(text.endsWith("line 9999\n"));
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GitHistoryIndexTest
+{
+	@Test
+	public void testParse() throws IOException
+	{
+		// a is created, modified, renamed to b, then a new a is created
+		String log = "" +
+			"\0" + "400\n\nM\tb\n" +
+			"\0" + "300\n\nA\ta\n" +
+			"\0" + "250\n\nA\tc\n" +
+			"\0" + "200\n\nR100\ta\tb\n" +
+			"\0" + "100\n\nM\ta\n" +
+			"\0" + "0\n\nA\ta\n";
+
+		File dir = new File("plugins");
+		GitHistoryIndex index = GitHistoryIndex.parse(dir, new StringReader(log));
+
+		// these match what git log --follow gives for each file
+		assertHistory(index.get(new File(dir, "a")), 0, 300);
+		assertHistory(index.get(new File(dir, "b")), 0, 400);
+		assertHistory(index.get(new File(dir, "c")), 250, 250);
+		Assert.assertNull(index.get(new File(dir, "d")));
+		Assert.assertNull(index.get(new File("a")));
+	}
+
+	private static void assertHistory(GitHistoryIndex.Entry entry, long createdAt, long lastUpdatedAt)
+	{
+		Assert.assertNotNull(entry);
+		Assert.assertEquals(createdAt, entry.getCreatedAt());
+		Assert.assertEquals(lastUpdatedAt, entry.getLastUpdatedAt());
+	}
+}
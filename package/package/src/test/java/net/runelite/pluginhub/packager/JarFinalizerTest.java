@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarFinalizerTest
+{
+	private static final byte[] MANIFEST = "{\"internalName\":\"test\"}".getBytes(StandardCharsets.UTF_8);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Map<String, byte[]> contents = new HashMap<>();
+	private File jar;
+
+	@Before
+	public void before() throws IOException
+	{
+		Random r = new Random(1234);
+		contents.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n".getBytes(StandardCharsets.UTF_8));
+		contents.put("com/example/Foo.class", new byte[2000]);
+		byte[] noise = new byte[40_000];
+		r.nextBytes(noise);
+		contents.put("com/example/noise.bin", noise);
+
+		jar = folder.newFile("in.jar");
+		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			zos.setComment("a comment");
+			for (Map.Entry<String, byte[]> e : contents.entrySet())
+			{
+				ZipEntry ze = new ZipEntry(e.getKey());
+				if (e.getKey().endsWith(".bin"))
+				{
+					CRC32 crc = new CRC32();
+					crc.update(e.getValue());
+					ze.setMethod(ZipEntry.STORED);
+					ze.setSize(e.getValue().length);
+					ze.setCrc(crc.getValue());
+				}
+				zos.putNextEntry(ze);
+				zos.write(e.getValue());
+				zos.closeEntry();
+			}
+		}
+	}
+
+	@Test
+	public void testAppend() throws IOException
+	{
+		File out = folder.newFile("out.jar");
+		JarFinalizer.Result result = JarFinalizer.write(jar, out, "runelite_plugin.json", MANIFEST);
+		assertValid(out, result);
+	}
+
+	@Test
+	public void testRewrite() throws IOException
+	{
+		File out = folder.newFile("out.jar");
+		JarFinalizer.Result result = JarFinalizer.rewrite(jar, out, "runelite_plugin.json", MANIFEST);
+		assertValid(out, result);
+	}
+
+	@Test(expected = ZipException.class)
+	public void testDuplicate() throws IOException
+	{
+		JarFinalizer.write(jar, folder.newFile("out.jar"), "com/example/Foo.class", MANIFEST);
+	}
+
+	@Test(expected = ZipException.class)
+	public void testNotAZip() throws IOException
+	{
+		File notJar = folder.newFile("not.jar");
+		Files.write(new byte[1000], notJar);
+		JarFinalizer.write(notJar, folder.newFile("out.jar"), "runelite_plugin.json", MANIFEST);
+	}
+
+	private void assertValid(File out, JarFinalizer.Result result) throws IOException
+	{
+		Assert.assertEquals(out.length(), result.getSize());
+		Assert.assertArrayEquals(Files.asByteSource(out).hash(Hashing.sha256()).asBytes(), result.getSha256());
+
+		Map<String, byte[]> expected = new HashMap<>(contents);
+		expected.put("runelite_plugin.json", MANIFEST);
+
+		try (ZipFile zf = new ZipFile(out))
+		{
+			Assert.assertEquals(expected.size(), zf.size());
+			for (Map.Entry<String, byte[]> e : expected.entrySet())
+			{
+				Assert.assertArrayEquals(e.getKey(), e.getValue(), ByteStreams.toByteArray(zf.getInputStream(zf.getEntry(e.getKey()))));
+			}
+		}
+
+		int count = 0;
+		try (ZipInputStream zis = new ZipInputStream(new FileInputStream(out)))
+		{
+			for (ZipEntry ze; (ze = zis.getNextEntry()) != null; count++)
+			{
+				Assert.assertArrayEquals(ze.getName(), expected.get(ze.getName()), ByteStreams.toByteArray(zis));
+			}
+		}
+		Assert.assertEquals(expected.size(), count);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+public class JarInspectorTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testInspect() throws IOException
+	{
+		File jar = folder.newFile("plugin.jar");
+		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			writeClass(zos, "com/example/ExamplePlugin.class", Opcodes.V11, "com/example/ExamplePlugin", "net/runelite/client/plugins/Plugin", true);
+			writeClass(zos, "com/example/NotAPlugin.class", Opcodes.V1_8, "com/example/NotAPlugin", "java/lang/Object", true);
+			writeClass(zos, "com/example/Helper.class", Opcodes.V11, "com/example/Helper", "java/lang/Object", false);
+			writeClass(zos, "META-INF/versions/17/com/example/Helper.class", Opcodes.V17, "com/example/Helper", "java/lang/Object", false);
+		}
+
+		JarInspector inspector = JarInspector.inspect(jar);
+		Assert.assertEquals(ImmutableSet.of("com.example.ExamplePlugin"), inspector.getPluginClasses());
+		Assert.assertEquals(ImmutableSet.of("com.example.ExamplePlugin", "com.example.NotAPlugin", "com.example.Helper"), inspector.getJarClasses());
+		Assert.assertTrue(inspector.getBuiltinApi().getApi().getApis().contains("Lcom/example/Helper;b"));
+		Assert.assertNull(inspector.getIncompatibleClass());
+	}
+
+	@Test
+	public void testIncompatible() throws IOException
+	{
+		File jar = folder.newFile("plugin.jar");
+		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(jar)))
+		{
+			writeClass(zos, "com/example/B.class", Opcodes.V17, "com/example/B", "java/lang/Object", false);
+			writeClass(zos, "com/example/A.class", Opcodes.V17, "com/example/A", "java/lang/Object", false);
+			writeClass(zos, "com/example/C.class", Opcodes.V11, "com/example/C", "java/lang/Object", false);
+		}
+
+		Assert.assertEquals("com/example/A.class", JarInspector.inspect(jar).getIncompatibleClass());
+	}
+
+	private static void writeClass(ZipOutputStream zos, String path, int version, String name, String superName, boolean descriptor) throws IOException
+	{
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(version, Opcodes.ACC_PUBLIC, name, null, superName, null);
+		if (descriptor)
+		{
+			cw.visitAnnotation("Lnet/runelite/client/plugins/PluginDescriptor;", true).visitEnd();
+		}
+		cw.visitEnd();
+
+		zos.putNextEntry(new ZipEntry(path));
+		zos.write(cw.toByteArray());
+		zos.closeEntry();
+	}
+}
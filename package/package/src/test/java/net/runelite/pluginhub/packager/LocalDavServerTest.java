@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+import net.runelite.pluginhub.uploader.ArtifactStore;
+import net.runelite.pluginhub.uploader.UploadConfiguration;
+import net.runelite.pluginhub.uploader.WebDavArtifactStore;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalDavServerTest
+{
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testUpload() throws IOException
+	{
+		Path root = tmp.getRoot().toPath();
+		try (LocalDavServer dav = new LocalDavServer(root);
+			UploadConfiguration upload = new UploadConfiguration().setClient("harness:harness"))
+		{
+			WebDavArtifactStore store = new WebDavArtifactStore(upload.getClient(), HttpUrl.get(dav.getUrl()));
+			HttpUrl url = HttpUrl.get(store.url("jar/example.jar"));
+
+			Assert.assertFalse(store.exists("jar/example.jar"));
+			Assert.assertNull(store.get("jar/example.jar"));
+			try (Response res = upload.getClient().newCall(new Request.Builder()
+				.url(url)
+				.put(RequestBody.create(null, "nope"))
+				.build()).execute())
+			{
+				Assert.assertEquals(409, res.code());
+			}
+
+			// the 409 makes the store create the parent and retry
+			store.put("jar/example.jar", ArtifactStore.Content.of("jar data".getBytes(StandardCharsets.UTF_8)));
+			Assert.assertTrue(store.exists("jar/example.jar"));
+			Assert.assertEquals("jar data", new String(Files.readAllBytes(root.resolve("jar/example.jar")), StandardCharsets.UTF_8));
+
+			// already exists, so is a 405 the client ignores
+			store.mkdirs("jar");
+
+			try (InputStream is = store.get("jar/example.jar"))
+			{
+				Assert.assertEquals("jar data", new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8));
+			}
+
+			// logs are stored gzipped, and served with the encoding they were put with
+			File log = tmp.newFile("build.log");
+			Files.write(log.toPath(), "build log\n".getBytes(StandardCharsets.UTF_8));
+			store.put("log/example.log", CappedLog.gzipContent(log, 1024));
+			try (Response res = upload.getClient().newCall(new Request.Builder()
+				.url(store.url("log/example.log"))
+				.build()).execute())
+			{
+				Assert.assertEquals(200, res.code());
+				Assert.assertEquals("text/plain; charset=utf-8", res.header("Content-Type"));
+				// okhttp decodes it transparently
+				Assert.assertEquals("build log\n", res.body().string());
+			}
+
+			try (Response res = upload.getClient().newCall(new Request.Builder()
+				.url(dav.getUrl())
+				.header("Depth", "1")
+				.method("PROPFIND", null)
+				.build()).execute())
+			{
+				Assert.assertEquals(207, res.code());
+				String body = res.body().string();
+				Assert.assertTrue(body, body.contains("<D:href>/jar/</D:href>"));
+				Assert.assertFalse(body, body.contains("example.jar"));
+			}
+
+			try (Response res = upload.getClient().newCall(new Request.Builder()
+				.url(HttpUrl.get(dav.getUrl()).newBuilder().addPathSegment("..").addPathSegment("escape").build())
+				.get()
+				.build()).execute())
+			{
+				Assert.assertNotEquals(200, res.code());
+			}
+		}
+	}
+
+	@Test
+	public void testChunkedUpload() throws IOException
+	{
+		Path root = tmp.getRoot().toPath().resolve("dav");
+		byte[] data = new byte[5 * 1024 * 1024 + 1234];
+		new Random(42).nextBytes(data);
+		File file = tmp.newFile();
+		Files.write(file.toPath(), data);
+
+		try (LocalDavServer dav = new LocalDavServer(root);
+			UploadConfiguration upload = new UploadConfiguration().setClient("harness:harness"))
+		{
+			WebDavArtifactStore store = new WebDavArtifactStore(upload.getClient(), HttpUrl.get(dav.getUrl()));
+			store.put("source/big/1.zip", ArtifactStore.Content.of(file));
+			store.put("source/big/1.zip", ArtifactStore.Content.of(file));
+		}
+
+		Assert.assertArrayEquals(data, Files.readAllBytes(root.resolve("source/big/1.zip")));
+		try (Stream<Path> files = Files.list(root.resolve("source/big")))
+		{
+			Assert.assertEquals(1, files.count());
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PluginLogTest
+{
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWrite() throws IOException
+	{
+		File file = folder.newFile("log");
+		try (PluginLog log = new PluginLog(file))
+		{
+			log.write("hello\n".getBytes(StandardCharsets.UTF_8));
+
+			Exception ex = new Exception("boom");
+			ex.setStackTrace(new StackTraceElement[]{
+				new StackTraceElement("com.example.Plugin", "build", "Plugin.java", 1),
+				new StackTraceElement("org.gradle.Foo", "a", "Foo.java", 1),
+				new StackTraceElement("org.gradle.Foo", "b", "Foo.java", 2),
+				new StackTraceElement("java.lang.Thread", "run", "Thread.java", 3),
+			});
+			log.writeThrowable(ex);
+
+			// larger than a chunk
+			StringBuilder big = new StringBuilder();
+			for (int i = 0; i < 2000; i++)
+			{
+				big.append("line ").append(i).append('\n');
+			}
+			log.write(big.toString().getBytes(StandardCharsets.UTF_8));
+			log.flush();
+
+			String text = Files.asCharSource(file, StandardCharsets.UTF_8).read();
+			Assert.assertTrue(text, text.startsWith("hello\njava.lang.Exception: boom\n" +
+				"\tat com.example.Plugin.build(Plugin.java:1)\n" +
+				"\t...\n" +
+				"\tat java.lang.Thread.run(Thread.java:3)\n"));
+			Assert.assertTrue(text.endsWith(big.toString()));
+
+			log.write("after\n".getBytes(StandardCharsets.UTF_8));
+		}
+
+		Assert.assertTrue(Files.asCharSource(file, StandardCharsets.UTF_8).read().endsWith("line 1999\nafter\n"));
+	}
+
+	@Test
+	public void testBrokenThrowable() throws IOException
+	{
+		File file = folder.newFile("broken");
+		PluginLog log = new PluginLog(file);
+		log.writeThrowable(new Exception()
+		{
+			@Override
+			public String toString()
+			{
+				throw new IllegalStateException("broken toString");
+			}
+		});
+
+		try
+		{
+			log.flush();
+			Assert.fail();
+		}
+		catch (IOException e)
+		{
+			Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		// the shared writer must still be running for other logs
+		File other = folder.newFile("other");
+		try (PluginLog otherLog = new PluginLog(other))
+		{
+			otherLog.write("ok\n".getBytes(StandardCharsets.UTF_8));
+		}
+		Assert.assertEquals("ok\n", Files.asCharSource(other, StandardCharsets.UTF_8).read());
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PngHeaderTest
+{
+	@Test
+	public void testRead() throws IOException
+	{
+		PngHeader png = PngHeader.read(image("png", BufferedImage.TYPE_INT_ARGB));
+		Assert.assertNotNull(png);
+		Assert.assertEquals(48, png.getWidth());
+		Assert.assertEquals(72, png.getHeight());
+		Assert.assertFalse(png.isSuspicious());
+	}
+
+	@Test
+	public void testPalette() throws IOException
+	{
+		PngHeader png = PngHeader.read(image("png", BufferedImage.TYPE_BYTE_INDEXED));
+		Assert.assertNotNull(png);
+		Assert.assertFalse(png.isSuspicious());
+	}
+
+	@Test
+	public void testNotPng() throws IOException
+	{
+		Assert.assertNull(PngHeader.read(image("bmp", BufferedImage.TYPE_INT_RGB)));
+	}
+
+	@Test
+	public void testTrailingData() throws IOException
+	{
+		byte[] data = image("png", BufferedImage.TYPE_INT_ARGB);
+		data = Arrays.copyOf(data, data.length + 10);
+		Assert.assertTrue(PngHeader.read(data).isSuspicious());
+	}
+
+	@Test(expected = IOException.class)
+	public void testBadCrc() throws IOException
+	{
+		byte[] data = image("png", BufferedImage.TYPE_INT_ARGB);
+		// inside the IHDR's width
+		data[18] ^= 1;
+		PngHeader.read(data);
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncated() throws IOException
+	{
+		byte[] data = image("png", BufferedImage.TYPE_INT_ARGB);
+		PngHeader.read(Arrays.copyOf(data, data.length - 12));
+	}
+
+	@Test(expected = IOException.class)
+	public void testCorruptData() throws IOException
+	{
+		byte[] data = image("png", BufferedImage.TYPE_INT_ARGB);
+		// IHDR is 8 + 25 bytes, so this is the start of the first IDAT's data
+		int idat = 8 + 25 + 8;
+		Assert.assertEquals("IDAT", new String(data, idat - 4, 4, StandardCharsets.US_ASCII));
+		int length = ByteBuffer.wrap(data, idat - 8, 4).getInt();
+		Arrays.fill(data, idat + 2, idat + length, (byte) 0xFF);
+		fixCrc(data, idat - 4, length + 4);
+		PngHeader.read(data);
+	}
+
+	@Test
+	public void testHugeDimensions() throws IOException
+	{
+		byte[] data = image("png", BufferedImage.TYPE_INT_ARGB);
+		// 65536x65536 would overflow an int area, and is too big to inflate here
+		ByteBuffer.wrap(data, 16, 8).putInt(65536).putInt(65536);
+		fixCrc(data, 12, 17);
+		PngHeader png = PngHeader.read(data);
+		Assert.assertEquals(65536, png.getWidth());
+		Assert.assertTrue(png.isSuspicious());
+	}
+
+	private static void fixCrc(byte[] data, int start, int length)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(data, start, length);
+		ByteBuffer.wrap(data, start + length, 4).putInt((int) crc.getValue());
+	}
+
+	private static byte[] image(String format, int type) throws IOException
+	{
+		BufferedImage img = new BufferedImage(48, 72, type);
+		img.setRGB(4, 4, 0xFFFF0000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Assert.assertTrue(ImageIO.write(img, format, out));
+		return out.toByteArray();
+	}
+}
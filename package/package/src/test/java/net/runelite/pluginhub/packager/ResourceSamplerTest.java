@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResourceSamplerTest
+{
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testParse()
+	{
+		String stat = "1234 (java (gradle) x) S 1 1234 1234 0 -1 4194560 50000 0 12 0 4321 678 0 0 20 0 60 0 1000 5000000000 200000 18446744073709551615";
+		Assert.assertEquals(4321 + 678, ResourceSampler.parseCpuTicks(stat));
+
+		String status = "Name:\tjava\nVmHWM:\t  900000 kB\nVmRSS:\t  812345 kB\n";
+		Assert.assertEquals("812345 kB", ResourceSampler.parseFields(status).get("VmRSS"));
+	}
+
+	@Test
+	public void testSampleSelf() throws Exception
+	{
+		Assume.assumeTrue(ResourceSampler.isSupported());
+
+		ResourceSampler.Sample self = ResourceSampler.read(Paths.get("/proc/self"));
+		Assert.assertNotNull(self);
+		Assert.assertTrue(self.getRssBytes() > 0);
+
+		File pidFile = tmp.newFile("gradle.pid");
+		ResourceSampler sampler = new ResourceSampler(pidFile);
+		Files.write(pidFile.toPath(), Long.toString(ProcessHandle.current().pid()).getBytes(StandardCharsets.UTF_8));
+		ResourceSampler.Usage usage = sampler.stop();
+		Assert.assertNotNull(usage);
+		Assert.assertEquals(1, usage.getProcesses());
+		Assert.assertTrue(usage.getPeakRssBytes() > 0);
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StageMetricsTest
+{
+	@Test
+	public void testWrite() throws IOException
+	{
+		StageMetrics m = new StageMetrics("build", 4);
+		m.acquired(TimeUnit.MILLISECONDS.toNanos(2));
+		m.acquired(0);
+		m.released(TimeUnit.SECONDS.toNanos(3));
+		m.released(TimeUnit.MINUTES.toNanos(20));
+
+		StringWriter prom = new StringWriter();
+		StageMetrics.writePrometheus(Collections.singletonList(m), prom);
+		String text = prom.toString();
+		Assert.assertTrue(text, text.contains("pluginhub_stage_wait_seconds_bucket{stage=\"build\",le=\"0.001\"} 1\n"));
+		Assert.assertTrue(text, text.contains("pluginhub_stage_wait_seconds_bucket{stage=\"build\",le=\"0.005\"} 2\n"));
+		Assert.assertTrue(text, text.contains("pluginhub_stage_service_seconds_bucket{stage=\"build\",le=\"5.0\"} 1\n"));
+		Assert.assertTrue(text, text.contains("pluginhub_stage_service_seconds_bucket{stage=\"build\",le=\"+Inf\"} 2\n"));
+		Assert.assertTrue(text, text.contains("pluginhub_stage_service_seconds_count{stage=\"build\"} 2\n"));
+		Assert.assertTrue(text, text.contains("pluginhub_stage_permits_max_in_use{stage=\"build\"} 2\n"));
+
+		StringWriter json = new StringWriter();
+		StageMetrics.writeJson(Collections.singletonList(m), json);
+		JsonObject stage = new JsonParser().parse(json.toString())
+			.getAsJsonObject()
+			.getAsJsonArray("stages")
+			.get(0)
+			.getAsJsonObject();
+		Assert.assertEquals("build", stage.get("name").getAsString());
+		Assert.assertEquals(2, stage.getAsJsonObject("wait").get("count").getAsInt());
+		Assert.assertEquals(1203, stage.getAsJsonObject("service").get("sumSeconds").getAsDouble(), .001);
+	}
+}
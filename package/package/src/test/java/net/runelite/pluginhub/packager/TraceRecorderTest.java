@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.packager;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TraceRecorderTest
+{
+	@Test
+	public void testWrite() throws IOException
+	{
+		TraceRecorder trace = new TraceRecorder();
+		long start = System.nanoTime();
+		trace.record("build", "stage", "example", start, start + TimeUnit.MILLISECONDS.toNanos(1500));
+		trace.span("uploadLog", "stage", "example").close();
+
+		StringWriter out = new StringWriter();
+		trace.write(out);
+		JsonArray events = new JsonParser().parse(out.toString())
+			.getAsJsonObject()
+			.getAsJsonArray("traceEvents");
+		Assert.assertEquals(3, events.size());
+
+		JsonObject meta = events.get(0).getAsJsonObject();
+		Assert.assertEquals("M", meta.get("ph").getAsString());
+		Assert.assertEquals(Thread.currentThread().getName(), meta.getAsJsonObject("args").get("name").getAsString());
+
+		JsonObject build = events.get(1).getAsJsonObject();
+		Assert.assertEquals("X", build.get("ph").getAsString());
+		Assert.assertEquals("build", build.get("name").getAsString());
+		Assert.assertEquals(1500_000, build.get("dur").getAsLong(), 1);
+		Assert.assertEquals("example", build.getAsJsonObject("args").get("plugin").getAsString());
+		Assert.assertEquals(Thread.currentThread().getId(), build.get("tid").getAsLong());
+	}
+
+	@Test
+	public void testAsync() throws IOException
+	{
+		TraceRecorder trace = new TraceRecorder();
+		long start = System.nanoTime();
+		trace.recordAsync("upload", "stage", "example", start, start + TimeUnit.MILLISECONDS.toNanos(2));
+
+		StringWriter out = new StringWriter();
+		trace.write(out);
+		JsonArray events = new JsonParser().parse(out.toString())
+			.getAsJsonObject()
+			.getAsJsonArray("traceEvents");
+		Assert.assertEquals(3, events.size());
+
+		JsonObject begin = events.get(1).getAsJsonObject();
+		JsonObject end = events.get(2).getAsJsonObject();
+		Assert.assertEquals("b", begin.get("ph").getAsString());
+		Assert.assertEquals("e", end.get("ph").getAsString());
+		Assert.assertEquals("example", begin.get("id").getAsString());
+		Assert.assertEquals("example", end.get("id").getAsString());
+		Assert.assertEquals(2000, end.get("ts").getAsLong() - begin.get("ts").getAsLong(), 1);
+	}
+
+	@Test
+	public void testDisabled() throws IOException
+	{
+		TraceRecorder trace = TraceRecorder.DISABLED;
+		long start = System.nanoTime();
+		trace.record("build", "stage", "example", start, start + 1);
+		trace.span("uploadLog", "stage", "example").close();
+
+		StringWriter out = new StringWriter();
+		trace.write(out);
+		Assert.assertEquals(0, new JsonParser().parse(out.toString())
+			.getAsJsonObject()
+			.getAsJsonArray("traceEvents")
+			.size());
+	}
+}
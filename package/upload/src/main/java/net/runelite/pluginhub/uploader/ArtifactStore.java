@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nullable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Where the plugin hub's jars, apis, sources, logs and manifests are stored. Paths
+ * are relative to the store's root and separated by {@code /}, eg {@code jar/foo_hash.jar}.
+ * Content is stored as it is written, so content that has a {@link Content#contentEncoding()}
+ * is read back still encoded.
+ */
+public interface ArtifactStore extends Closeable
+{
+	interface Content
+	{
+		/**
+		 * writes the content, which may happen more than once if the write is retried
+		 */
+		void writeTo(OutputStream out) throws IOException;
+
+		/**
+		 * the length in bytes, or -1 if it is not known ahead of time
+		 */
+		default long length()
+		{
+			return -1;
+		}
+
+		@Nullable
+		default String contentType()
+		{
+			return null;
+		}
+
+		@Nullable
+		default String contentEncoding()
+		{
+			return null;
+		}
+
+		/**
+		 * the file this is read from, if any, which lets stores upload large files in parts
+		 */
+		@Nullable
+		default File file()
+		{
+			return null;
+		}
+
+		static Content of(File file)
+		{
+			return new Content()
+			{
+				@Override
+				public void writeTo(OutputStream out) throws IOException
+				{
+					Files.copy(file.toPath(), out);
+				}
+
+				@Override
+				public File file()
+				{
+					return file;
+				}
+
+				@Override
+				public long length()
+				{
+					return file.length();
+				}
+			};
+		}
+
+		static Content of(byte[] data)
+		{
+			return new Content()
+			{
+				@Override
+				public void writeTo(OutputStream out) throws IOException
+				{
+					out.write(data);
+				}
+
+				@Override
+				public long length()
+				{
+					return data.length;
+				}
+			};
+		}
+	}
+
+	/**
+	 * the result of {@link #getIfNoneMatch(String, String)}
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	class Fetched implements Closeable
+	{
+		/**
+		 * the artifact's content, or null if it still has the etag that was asked about
+		 */
+		@Nullable
+		private final InputStream body;
+
+		@Nullable
+		private final String etag;
+
+		public boolean isNotModified()
+		{
+			return body == null;
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			if (body != null)
+			{
+				body.close();
+			}
+		}
+	}
+
+	static String path(String... segments)
+	{
+		return String.join("/", segments);
+	}
+
+	/**
+	 * writes the content to the path, replacing anything there and creating any missing parent directories
+	 */
+	void put(String path, Content content) throws IOException;
+
+	/**
+	 * starts writing the content to the path without waiting for it to finish. The content
+	 * must stay readable until the returned future completes.
+	 */
+	default CompletableFuture<Void> putAsync(String path, Content content)
+	{
+		try
+		{
+			put(path, content);
+			return CompletableFuture.completedFuture(null);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			CompletableFuture<Void> f = new CompletableFuture<>();
+			f.completeExceptionally(e);
+			return f;
+		}
+	}
+
+	default void putAll(Map<String, Content> artifacts) throws IOException
+	{
+		for (Map.Entry<String, Content> e : artifacts.entrySet())
+		{
+			put(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * opens the artifact for reading, or returns null if it does not exist
+	 */
+	@Nullable
+	InputStream get(String path) throws IOException;
+
+	/**
+	 * opens the artifact for reading unless it still has the etag, which may be null to always read it.
+	 * Stores that can't tell if the artifact has changed always read it.
+	 *
+	 * @return null if the artifact does not exist
+	 */
+	@Nullable
+	default Fetched getIfNoneMatch(String path, @Nullable String etag) throws IOException
+	{
+		InputStream is = get(path);
+		return is == null ? null : new Fetched(is, null);
+	}
+
+	boolean exists(String path) throws IOException;
+
+	/**
+	 * @return the subset of paths that exist
+	 */
+	default Set<String> existing(Collection<String> paths) throws IOException
+	{
+		Set<String> existing = new HashSet<>();
+		for (String path : paths)
+		{
+			if (exists(path))
+			{
+				existing.add(path);
+			}
+		}
+		return existing;
+	}
+
+	/**
+	 * creates the directory and its parents, if the store has directories
+	 */
+	void mkdirs(String path) throws IOException;
+
+	/**
+	 * a link to the artifact for humans, such as in build summaries
+	 */
+	String url(String path);
+
+	@Override
+	default void close()
+	{
+	}
+}
@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * A compact encoding of a manifest, which stores each string once and hashes as raw bytes. Fixed width
+ * integers are big endian:
+ *
+ * <pre>
+ * int magic, byte format
+ * int string count, int[count + 1] offsets into the string data, utf-8 string data
+ * int index count, (int name, int jar offset, int display offset)[count] sorted by name
+ * int jar count, jar records
+ * int display count, display records
+ * </pre>
+ *
+ * Records are made of varints. Strings are referenced by their index in the string table plus one, so 0
+ * can be null. Index entries point at records by their offset from the start of the manifest, or -1 if
+ * the plugin has no record of that kind. Since the index is fixed width and sorted, a single plugin can
+ * be found without reading the rest of the manifest.
+ */
+public class BinaryManifest
+{
+	public static final int MAGIC = 0x524C504D; // RLPM
+	public static final int FORMAT = 1;
+
+	private static final int INDEX_ENTRY_SIZE = 12;
+
+	private static final int HASH_NULL = 0;
+	private static final int HASH_RAW = 1;
+	private static final int HASH_STRING = 2;
+
+	private BinaryManifest()
+	{
+	}
+
+	public static byte[] encode(PluginHubManifest.ManifestLite manifest)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try
+		{
+			write(manifest, out);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	public static void write(PluginHubManifest.ManifestLite manifest, OutputStream os) throws IOException
+	{
+		List<PluginHubManifest.DisplayData> display = manifest instanceof PluginHubManifest.ManifestFull
+			? ((PluginHubManifest.ManifestFull) manifest).getDisplay()
+			: new ArrayList<>();
+
+		StringTable strings = new StringTable();
+		Records jars = new Records(strings);
+		Records displays = new Records(strings);
+		Map<String, int[]> index = new TreeMap<>();
+
+		for (PluginHubManifest.JarData jar : manifest.getJars())
+		{
+			index.computeIfAbsent(jar.getInternalName(), k -> new int[]{-1, -1})[0] = jars.size();
+			jars.string(jar.getInternalName());
+			jars.string(jar.getDisplayName());
+			jars.hash(jar.getJarHash());
+			jars.varint(jar.getJarSize());
+		}
+
+		for (PluginHubManifest.DisplayData d : display)
+		{
+			index.computeIfAbsent(d.getInternalName(), k -> new int[]{-1, -1})[1] = displays.size();
+			displays.string(d.getInternalName());
+			displays.string(d.getDisplayName());
+			displays.string(d.getVersion());
+			displays.hash(d.getIconHash());
+			displays.varint(d.getCreatedAt());
+			displays.varint(d.getLastUpdatedAt());
+			displays.string(d.getAuthor());
+			displays.string(d.getDescription());
+			displays.string(d.getWarning());
+			if (d.getTags() == null)
+			{
+				displays.varint(0);
+			}
+			else
+			{
+				displays.varint(d.getTags().length + 1);
+				for (String tag : d.getTags())
+				{
+					displays.string(tag);
+				}
+			}
+			displays.varint(d.getBuildFailAt() == null ? 0 : d.getBuildFailAt() + 1);
+			displays.string(d.getUnavailableReason());
+		}
+
+		DataOutputStream out = new DataOutputStream(os);
+		out.writeInt(MAGIC);
+		out.writeByte(FORMAT);
+		strings.writeTo(out);
+
+		int jarsStart = out.size() + 4 + index.size() * INDEX_ENTRY_SIZE + 4;
+		int displaysStart = jarsStart + jars.size() + 4;
+		out.writeInt(index.size());
+		for (Map.Entry<String, int[]> e : index.entrySet())
+		{
+			int[] offsets = e.getValue();
+			out.writeInt(strings.ref(e.getKey()) - 1);
+			out.writeInt(offsets[0] == -1 ? -1 : jarsStart + offsets[0]);
+			out.writeInt(offsets[1] == -1 ? -1 : displaysStart + offsets[1]);
+		}
+
+		out.writeInt(manifest.getJars().size());
+		jars.bytes.writeTo(out);
+		out.writeInt(display.size());
+		displays.bytes.writeTo(out);
+		out.flush();
+	}
+
+	public static PluginHubManifest.ManifestFull decode(ByteBuffer buf)
+	{
+		Reader r = new Reader(buf);
+		PluginHubManifest.ManifestFull manifest = new PluginHubManifest.ManifestFull();
+
+		buf.position(r.indexStart + r.indexCount * INDEX_ENTRY_SIZE);
+		for (int i = buf.getInt(); i > 0; i--)
+		{
+			manifest.getJars().add(r.jar());
+		}
+		for (int i = buf.getInt(); i > 0; i--)
+		{
+			manifest.getDisplay().add(r.display());
+		}
+		return manifest;
+	}
+
+	@Nullable
+	public static PluginHubManifest.JarData findJar(ByteBuffer buf, String internalName)
+	{
+		Reader r = new Reader(buf);
+		int offset = r.find(internalName, 1);
+		if (offset == -1)
+		{
+			return null;
+		}
+		buf.position(offset);
+		return r.jar();
+	}
+
+	@Nullable
+	public static PluginHubManifest.DisplayData findDisplay(ByteBuffer buf, String internalName)
+	{
+		Reader r = new Reader(buf);
+		int offset = r.find(internalName, 2);
+		if (offset == -1)
+		{
+			return null;
+		}
+		buf.position(offset);
+		return r.display();
+	}
+
+	private static class StringTable
+	{
+		private final List<String> strings = new ArrayList<>();
+		private final Map<String, Integer> refs = new HashMap<>();
+
+		int ref(@Nullable String s)
+		{
+			if (s == null)
+			{
+				return 0;
+			}
+			return refs.computeIfAbsent(s, k ->
+			{
+				strings.add(k);
+				return strings.size();
+			});
+		}
+
+		void writeTo(DataOutputStream out) throws IOException
+		{
+			ByteArrayOutputStream data = new ByteArrayOutputStream();
+			out.writeInt(strings.size());
+			out.writeInt(0);
+			for (String s : strings)
+			{
+				data.write(s.getBytes(StandardCharsets.UTF_8));
+				out.writeInt(data.size());
+			}
+			data.writeTo(out);
+		}
+	}
+
+	private static class Records
+	{
+		private final StringTable strings;
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		Records(StringTable strings)
+		{
+			this.strings = strings;
+		}
+
+		int size()
+		{
+			return bytes.size();
+		}
+
+		void varint(long v)
+		{
+			for (; (v & ~0x7FL) != 0; v >>>= 7)
+			{
+				bytes.write((int) ((v & 0x7F) | 0x80));
+			}
+			bytes.write((int) v);
+		}
+
+		void string(@Nullable String s)
+		{
+			varint(strings.ref(s));
+		}
+
+		void hash(@Nullable String hash)
+		{
+			if (hash == null)
+			{
+				bytes.write(HASH_NULL);
+				return;
+			}
+
+			byte[] raw = decodeHash(hash);
+			if (raw != null && raw.length < 256)
+			{
+				bytes.write(HASH_RAW);
+				bytes.write(raw.length);
+				bytes.write(raw, 0, raw.length);
+			}
+			else
+			{
+				bytes.write(HASH_STRING);
+				string(hash);
+			}
+		}
+	}
+
+	@Nullable
+	private static byte[] decodeHash(String hash)
+	{
+		try
+		{
+			byte[] raw = Base64.getUrlDecoder().decode(hash);
+			// hashes that wouldn't come back the same are kept as strings
+			return PluginHubManifest.HASH_ENCODER.encodeToString(raw).equals(hash) ? raw : null;
+		}
+		catch (IllegalArgumentException e)
+		{
+			return null;
+		}
+	}
+
+	private static class Reader
+	{
+		private final ByteBuffer buf;
+		private final int offsetsStart;
+		private final int stringsStart;
+		private final int indexCount;
+		private final int indexStart;
+
+		Reader(ByteBuffer buf)
+		{
+			this.buf = buf;
+			if (buf.getInt(0) != MAGIC)
+			{
+				throw new IllegalArgumentException("not a binary manifest");
+			}
+			int format = buf.get(4);
+			if (format != FORMAT)
+			{
+				throw new IllegalArgumentException("unsupported binary manifest format " + format);
+			}
+			int stringCount = buf.getInt(5);
+			offsetsStart = 9;
+			stringsStart = offsetsStart + (stringCount + 1) * 4;
+			int indexCountAt = stringsStart + buf.getInt(offsetsStart + stringCount * 4);
+			indexCount = buf.getInt(indexCountAt);
+			indexStart = indexCountAt + 4;
+		}
+
+		String tableString(int index)
+		{
+			int start = buf.getInt(offsetsStart + index * 4);
+			int end = buf.getInt(offsetsStart + index * 4 + 4);
+			ByteBuffer slice = buf.duplicate();
+			slice.position(stringsStart + start);
+			slice.limit(stringsStart + end);
+			return StandardCharsets.UTF_8.decode(slice).toString();
+		}
+
+		long varint()
+		{
+			long v = 0;
+			for (int shift = 0; ; shift += 7)
+			{
+				byte b = buf.get();
+				v |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+				{
+					return v;
+				}
+			}
+		}
+
+		@Nullable
+		String string()
+		{
+			int ref = (int) varint();
+			return ref == 0 ? null : tableString(ref - 1);
+		}
+
+		@Nullable
+		String hash()
+		{
+			int kind = buf.get();
+			switch (kind)
+			{
+				case HASH_NULL:
+					return null;
+				case HASH_RAW:
+					byte[] raw = new byte[buf.get() & 0xFF];
+					buf.get(raw);
+					return PluginHubManifest.HASH_ENCODER.encodeToString(raw);
+				case HASH_STRING:
+					return string();
+				default:
+					throw new IllegalArgumentException("bad hash kind " + kind);
+			}
+		}
+
+		PluginHubManifest.JarData jar()
+		{
+			PluginHubManifest.JarData jar = new PluginHubManifest.JarData();
+			jar.setInternalName(string());
+			jar.setDisplayName(string());
+			jar.setJarHash(hash());
+			jar.setJarSize((int) varint());
+			return jar;
+		}
+
+		PluginHubManifest.DisplayData display()
+		{
+			PluginHubManifest.DisplayData d = new PluginHubManifest.DisplayData();
+			d.setInternalName(string());
+			d.setDisplayName(string());
+			d.setVersion(string());
+			d.setIconHash(hash());
+			d.setCreatedAt(varint());
+			d.setLastUpdatedAt(varint());
+			d.setAuthor(string());
+			d.setDescription(string());
+			d.setWarning(string());
+			int tags = (int) varint();
+			if (tags > 0)
+			{
+				String[] t = new String[tags - 1];
+				for (int i = 0; i < t.length; i++)
+				{
+					t[i] = string();
+				}
+				d.setTags(t);
+			}
+			long buildFailAt = varint();
+			d.setBuildFailAt(buildFailAt == 0 ? null : buildFailAt - 1);
+			d.setUnavailableReason(string());
+			return d;
+		}
+
+		/**
+		 * @param column 1 for the jar offset, 2 for the display offset
+		 * @return the record's offset, or -1
+		 */
+		int find(String internalName, int column)
+		{
+			int lo = 0;
+			int hi = indexCount - 1;
+			while (lo <= hi)
+			{
+				int mid = (lo + hi) >>> 1;
+				int entry = indexStart + mid * INDEX_ENTRY_SIZE;
+				int cmp = tableString(buf.getInt(entry)).compareTo(internalName);
+				if (cmp == 0)
+				{
+					return buf.getInt(entry + column * 4);
+				}
+				else if (cmp < 0)
+				{
+					lo = mid + 1;
+				}
+				else
+				{
+					hi = mid - 1;
+				}
+			}
+			return -1;
+		}
+	}
+}
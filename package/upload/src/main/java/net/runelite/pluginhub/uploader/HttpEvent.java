@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import java.io.IOException;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+@Name("net.runelite.pluginhub.Http")
+@Label("HTTP Request")
+@Category({"Plugin Hub", "Upload"})
+@Description("One attempt at an HTTP request to the plugin hub repository. The plugin it is for is the one in the Stage event on the same thread")
+class HttpEvent extends Event
+{
+	@Label("Method")
+	String method;
+
+	@Label("URL")
+	String url;
+
+	@Label("Status")
+	int status;
+
+	@Label("Request Bytes")
+	@DataAmount
+	long requestBytes;
+
+	@Label("Response Bytes")
+	@DataAmount
+	long responseBytes;
+
+	@Label("Outcome")
+	String outcome;
+
+	/**
+	 * a network interceptor that records every request attempt, which only measures
+	 * up to the response headers as the body is read after the interceptor returns
+	 */
+	static final Interceptor INTERCEPTOR = chain ->
+	{
+		HttpEvent ev = new HttpEvent();
+		if (!ev.isEnabled())
+		{
+			return chain.proceed(chain.request());
+		}
+
+		Request req = chain.request();
+		ev.method = req.method();
+		ev.url = req.url().encodedPath();
+		ev.requestBytes = req.body() == null ? 0 : req.body().contentLength();
+		ev.begin();
+		try
+		{
+			Response res = chain.proceed(req);
+			ev.status = res.code();
+			ev.responseBytes = res.body() == null ? 0 : res.body().contentLength();
+			ev.outcome = res.isSuccessful() ? "success" : "failure";
+			return res;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			ev.outcome = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally
+		{
+			ev.commit();
+		}
+	};
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import lombok.Getter;
+
+/**
+ * Stores artifacts in a local directory, for development and benchmarking without a WebDAV server
+ */
+public class LocalArtifactStore implements ArtifactStore
+{
+	@Getter
+	private final Path root;
+
+	public LocalArtifactStore(Path root)
+	{
+		this.root = root.toAbsolutePath().normalize();
+	}
+
+	Path resolve(String path)
+	{
+		Path p = root.resolve(path).normalize();
+		if (!p.startsWith(root))
+		{
+			throw new IllegalArgumentException("path \"" + path + "\" is outside of the store");
+		}
+		return p;
+	}
+
+	@Override
+	public void put(String path, Content content) throws IOException
+	{
+		Path p = resolve(path);
+		Files.createDirectories(p.getParent());
+
+		// write to a temporary file so readers never see a partial artifact
+		Path tmp = Files.createTempFile(p.getParent(), ".upload", null);
+		try
+		{
+			try (OutputStream os = Files.newOutputStream(tmp))
+			{
+				content.writeTo(os);
+			}
+			Files.move(tmp, p, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	@Override
+	public InputStream get(String path) throws IOException
+	{
+		try
+		{
+			return Files.newInputStream(resolve(path));
+		}
+		catch (NoSuchFileException | FileNotFoundException e)
+		{
+			return null;
+		}
+	}
+
+	@Override
+	public Fetched getIfNoneMatch(String path, String etag) throws IOException
+	{
+		Path p = resolve(path);
+		BasicFileAttributes attrs;
+		try
+		{
+			attrs = Files.readAttributes(p, BasicFileAttributes.class);
+		}
+		catch (NoSuchFileException e)
+		{
+			return null;
+		}
+
+		// puts always replace the file, so its modified time and size identify its content
+		String current = "\"" + Long.toHexString(attrs.lastModifiedTime().toMillis()) + "-" + Long.toHexString(attrs.size()) + "\"";
+		if (current.equals(etag))
+		{
+			return new Fetched(null, etag);
+		}
+
+		InputStream is = get(path);
+		return is == null ? null : new Fetched(is, current);
+	}
+
+	@Override
+	public boolean exists(String path)
+	{
+		return Files.isRegularFile(resolve(path));
+	}
+
+	@Override
+	public void mkdirs(String path) throws IOException
+	{
+		Files.createDirectories(resolve(path));
+	}
+
+	@Override
+	public String url(String path)
+	{
+		return resolve(path).toUri().toString();
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps artifacts on the heap, for tests
+ */
+public class MemoryArtifactStore implements ArtifactStore
+{
+	private final Map<String, byte[]> artifacts = new ConcurrentHashMap<>();
+
+	@Override
+	public void put(String path, Content content) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		content.writeTo(baos);
+		artifacts.put(path, baos.toByteArray());
+	}
+
+	@Override
+	public InputStream get(String path)
+	{
+		byte[] data = artifacts.get(path);
+		return data == null ? null : new ByteArrayInputStream(data);
+	}
+
+	@Nullable
+	public byte[] getBytes(String path)
+	{
+		return artifacts.get(path);
+	}
+
+	@Override
+	public boolean exists(String path)
+	{
+		return artifacts.containsKey(path);
+	}
+
+	@Override
+	public void mkdirs(String path)
+	{
+	}
+
+	@Override
+	public String url(String path)
+	{
+		return "memory:" + path;
+	}
+}
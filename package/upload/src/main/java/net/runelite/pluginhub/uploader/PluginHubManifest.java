@@ -26,7 +26,10 @@ package net.runelite.pluginhub.uploader;
 
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -57,6 +60,78 @@ public class PluginHubManifest
 		private List<DisplayData> display = new ArrayList<>();
 	}
 
+	/**
+	 * The changes between two signed full manifests, so a client holding the first can build the second.
+	 * Hashes are of the signed manifest files, encoded with {@link #HASH_ENCODER}.
+	 */
+	@Data
+	public static class ManifestDelta
+	{
+		private String fromHash;
+		private String toHash;
+
+		/**
+		 * the runelite version the new manifest was published for
+		 */
+		private String version;
+
+		/**
+		 * entries for plugins that weren't in the old manifest
+		 */
+		private ManifestFull added = new ManifestFull();
+
+		/**
+		 * entries for plugins that were in the old manifest, and have changed
+		 */
+		private ManifestFull replaced = new ManifestFull();
+
+		private List<String> removedJars = new ArrayList<>();
+		private List<String> removedDisplay = new ArrayList<>();
+
+		public static ManifestDelta between(ManifestFull from, ManifestFull to)
+		{
+			ManifestDelta delta = new ManifestDelta();
+			diff(from.getJars(), to.getJars(), JarData::getInternalName,
+				delta.added.getJars(), delta.replaced.getJars(), delta.removedJars);
+			diff(from.getDisplay(), to.getDisplay(), DisplayData::getInternalName,
+				delta.added.getDisplay(), delta.replaced.getDisplay(), delta.removedDisplay);
+			return delta;
+		}
+
+		private static <T> void diff(List<T> from, List<T> to, Function<T, String> name, List<T> added, List<T> replaced, List<String> removed)
+		{
+			Map<String, T> old = new HashMap<>();
+			for (T t : from)
+			{
+				old.put(name.apply(t), t);
+			}
+
+			for (T t : to)
+			{
+				T prev = old.remove(name.apply(t));
+				if (prev == null)
+				{
+					added.add(t);
+				}
+				else if (!prev.equals(t))
+				{
+					replaced.add(t);
+				}
+			}
+
+			old.keySet().stream()
+				.sorted()
+				.forEach(removed::add);
+		}
+
+		public boolean isEmpty()
+		{
+			return added.getJars().isEmpty() && added.getDisplay().isEmpty()
+				&& replaced.getJars().isEmpty() && replaced.getDisplay().isEmpty()
+				&& removedJars.isEmpty() && removedDisplay.isEmpty();
+		}
+	}
+
 	@Data
 	public static class DisplayData
 	{
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Manifests are stored as a big endian int length of the signature, the signature, then the signed data
+ */
+public class SignedManifest
+{
+	private SignedManifest()
+	{
+	}
+
+	/**
+	 * parses the manifest straight from the stream, verifying it as it is read
+	 *
+	 * @param signingConfig the key to verify with, or null to not verify the manifest
+	 */
+	public static <T> T read(InputStream in, @Nullable SigningConfiguration signingConfig, Class<T> type) throws IOException
+	{
+		DataInputStream dis = new DataInputStream(in);
+		byte[] signature = new byte[dis.readInt()];
+		dis.readFully(signature);
+
+		try
+		{
+			InputStream data = dis;
+			Signature verifier = null;
+			if (signingConfig != null)
+			{
+				verifier = signingConfig.verifier();
+				data = new VerifyingInputStream(dis, verifier);
+			}
+
+			T manifest = Util.GSON.fromJson(new InputStreamReader(data, StandardCharsets.UTF_8), type);
+
+			// anything after the json is signed too
+			ByteStreams.exhaust(data);
+			if (verifier != null && !verifier.verify(signature))
+			{
+				throw new RuntimeException("Unable to verify external plugin manifest");
+			}
+
+			return manifest;
+		}
+		catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * writes the manifest to a temporary file, signing it as it is written
+	 *
+	 * @param data writes the unsigned manifest
+	 */
+	public static Spooled spool(SigningConfiguration signingConfig, ArtifactStore.Content data) throws IOException
+	{
+		File file = File.createTempFile("manifest", ".spool");
+		try
+		{
+			Signature signer = signingConfig.signer();
+			try (OutputStream out = new SigningOutputStream(new BufferedOutputStream(new FileOutputStream(file)), signer))
+			{
+				data.writeTo(out);
+			}
+			return new Spooled(file, signer.sign());
+		}
+		catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException e)
+		{
+			file.delete();
+			throw new RuntimeException(e);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			file.delete();
+			throw e;
+		}
+	}
+
+	/**
+	 * writes the manifest as json, without building it as a string first
+	 */
+	public static Spooled spoolJson(SigningConfiguration signingConfig, Object manifest) throws IOException
+	{
+		return spool(signingConfig, out ->
+		{
+			Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			Util.GSON.toJson(manifest, writer);
+			writer.flush();
+		});
+	}
+
+	/**
+	 * A signed manifest whose data is in a temporary file. The signature is only prepended once
+	 * it is written out, so the manifest is never copied in memory.
+	 */
+	public static class Spooled implements Closeable
+	{
+		private final File file;
+		private final byte[] signature;
+
+		@Getter
+		private final String hash;
+
+		@Nullable
+		private File gzipped;
+
+		private Spooled(File file, byte[] signature) throws IOException
+		{
+			this.file = file;
+			this.signature = signature;
+
+			Hasher hasher = Hashing.sha256().newHasher();
+			writeTo(Funnels.asOutputStream(hasher));
+			this.hash = PluginHubManifest.HASH_ENCODER.encodeToString(hasher.hash().asBytes());
+		}
+
+		private void writeTo(OutputStream out) throws IOException
+		{
+			DataOutputStream dos = new DataOutputStream(out);
+			dos.writeInt(signature.length);
+			dos.write(signature);
+			dos.flush();
+			Files.copy(file.toPath(), out);
+		}
+
+		/**
+		 * the signed manifest
+		 */
+		public ArtifactStore.Content content()
+		{
+			return new ArtifactStore.Content()
+			{
+				@Override
+				public void writeTo(OutputStream out) throws IOException
+				{
+					Spooled.this.writeTo(out);
+				}
+
+				@Override
+				public long length()
+				{
+					return 4 + signature.length + file.length();
+				}
+			};
+		}
+
+		/**
+		 * the signed manifest, gzipped
+		 */
+		public ArtifactStore.Content gzipped() throws IOException
+		{
+			if (gzipped == null)
+			{
+				File gz = File.createTempFile("manifest", ".spool.gz");
+				try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(gz))))
+				{
+					writeTo(out);
+				}
+				catch (IOException e)
+				{
+					gz.delete();
+					throw e;
+				}
+				gzipped = gz;
+			}
+			return ArtifactStore.Content.of(gzipped);
+		}
+
+		@Override
+		public void close()
+		{
+			file.delete();
+			if (gzipped != null)
+			{
+				gzipped.delete();
+			}
+		}
+	}
+
+	private static class SigningOutputStream extends FilterOutputStream
+	{
+		private final Signature signer;
+
+		SigningOutputStream(OutputStream out, Signature signer)
+		{
+			super(out);
+			this.signer = signer;
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			update(new byte[]{(byte) b}, 0, 1);
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			update(b, off, len);
+			out.write(b, off, len);
+		}
+
+		private void update(byte[] b, int off, int len) throws IOException
+		{
+			try
+			{
+				signer.update(b, off, len);
+			}
+			catch (SignatureException e)
+			{
+				throw new IOException(e);
+			}
+		}
+	}
+
+	private static class VerifyingInputStream extends FilterInputStream
+	{
+		private final Signature verifier;
+
+		VerifyingInputStream(InputStream in, Signature verifier)
+		{
+			super(in);
+			this.verifier = verifier;
+		}
+
+		@Override
+		public int read() throws IOException
+		{
+			int b = in.read();
+			if (b != -1)
+			{
+				update(new byte[]{(byte) b}, 0, 1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			int n = in.read(b, off, len);
+			if (n > 0)
+			{
+				update(b, off, n);
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException
+		{
+			// skipped bytes must still be verified
+			byte[] buf = new byte[(int) Math.min(n, 8192)];
+			long skipped = 0;
+			for (int read; skipped < n && (read = read(buf, 0, (int) Math.min(n - skipped, buf.length))) > 0; )
+			{
+				skipped += read;
+			}
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported()
+		{
+			return false;
+		}
+
+		private void update(byte[] b, int off, int len) throws IOException
+		{
+			try
+			{
+				verifier.update(b, off, len);
+			}
+			catch (SignatureException e)
+			{
+				throw new IOException(e);
+			}
+		}
+	}
+}
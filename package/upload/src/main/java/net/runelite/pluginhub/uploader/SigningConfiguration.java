@@ -66,17 +66,35 @@ public class SigningConfiguration
 
 	public byte[] sign(byte[] data) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException
 	{
-		Signature s = Signature.getInstance("SHA256withRSA");
-		s.initSign(key);
+		Signature s = signer();
 		s.update(data);
 		return s.sign();
 	}
 
-	public boolean verify(byte[] sig, byte[] data) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException
+	/**
+	 * a signature ready to be updated with data as it is written, for signing data that is too big to buffer
+	 */
+	public Signature signer() throws NoSuchAlgorithmException, InvalidKeyException
 	{
 		Signature s = Signature.getInstance("SHA256withRSA");
-		s.initVerify(cert);
+		s.initSign(key);
+		return s;
+	}
+
+	public boolean verify(byte[] sig, byte[] data) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException
+	{
+		Signature s = verifier();
 		s.update(data);
 		return s.verify(sig);
 	}
+
+	/**
+	 * a signature ready to be updated with data as it is read, for verifying data that is too big to buffer
+	 */
+	public Signature verifier() throws NoSuchAlgorithmException, InvalidKeyException
+	{
+		Signature s = Signature.getInstance("SHA256withRSA");
+		s.initVerify(cert);
+		return s;
+	}
 }
@@ -25,22 +25,38 @@
 package net.runelite.pluginhub.uploader;
 
 import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteSource;
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SignatureException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.experimental.Accessors;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
-import okhttp3.RequestBody;
 import okhttp3.Response;
-import okio.BufferedSource;
 
 @Getter
 @Accessors(chain = true)
@@ -50,20 +66,58 @@ public class UploadConfiguration implements Closeable
 	public static final String DIR_API = "api";
 	public static final String DIR_ICON = "icon";
 	public static final String DIR_SOURCE = "source";
+	public static final String DIR_SOURCE_BLOB = "source-blob";
 	public static final String DIR_LOG = "log";
 	public static final String DIR_MANIFEST = "manifest";
 
 	public static final String MANIFEST_TYPE_FULL = "_full.js";
 	public static final String MANIFEST_TYPE_LITE = "_lite.js";
+	public static final String MANIFEST_TYPE_FULL_BINARY = "_full.bin";
+	public static final String MANIFEST_TYPE_LITE_BINARY = "_lite.bin";
+
+	// appended to a manifest type for a gzipped copy of the signed file
+	public static final String SUFFIX_MANIFEST_GZIP = ".gz";
+
+	// deltas are named by the version they are for and the hash of the manifest they apply to, since
+	// clients may hold any earlier manifest of their version
+	public static final String DIR_MANIFEST_DELTA = "delta";
+
+	public static final String SUFFIX_SOURCE_INDEX = ".json";
+	public static final String SUFFIX_SOURCE_BLOB = ".gz";
+
+	// how many requests may be in flight at once, across all plugins
+	private static final int MAX_REQUESTS = 32;
+	private static final int MAX_REQUESTS_PER_HOST = 16;
+
+	private static final File MANIFEST_CACHE = new File("/tmp/manifest_cache");
 
 	private OkHttpClient client;
 
-	@Getter
-	private HttpUrl root;
+	/**
+	 * where artifacts are uploaded to. {@code REPO_ROOT} may be a WebDAV url or a {@code file:} url
+	 */
+	@Setter
+	private ArtifactStore store;
 
 	@Getter
 	private String runeLiteVersion;
 
+	/**
+	 * where downloaded manifests are kept, so the Uploader can reuse the one the Packager downloaded
+	 */
+	@Setter
+	@Nullable
+	private File manifestCache = MANIFEST_CACHE;
+
+	@Getter(AccessLevel.NONE)
+	private final Map<String, String> manifestHashes = new ConcurrentHashMap<>();
+
+	/**
+	 * upload sources as deduplicated blobs + a {@link SourceIndex} instead of a zip per commit
+	 */
+	@Getter
+	private boolean sourceBlobs;
+
 	public UploadConfiguration fromEnvironment(String runeLiteVersion)
 	{
 		String prNo = System.getenv("PACKAGE_IS_PR");
@@ -72,27 +126,41 @@ public class UploadConfiguration implements Closeable
 			return this;
 		}
 
-		setClient(System.getenv("REPO_CREDS"));
-
 		String uploadRepoRootStr = System.getenv("REPO_ROOT");
 		if (!Strings.isNullOrEmpty(uploadRepoRootStr))
 		{
-			root = HttpUrl.parse(uploadRepoRootStr);
+			if (uploadRepoRootStr.startsWith("file:"))
+			{
+				// the local store doesn't need a client, or credentials
+				store = new LocalArtifactStore(Paths.get(URI.create(uploadRepoRootStr)));
+			}
+			else
+			{
+				setClient(System.getenv("REPO_CREDS"));
+				store = new WebDavArtifactStore(client, HttpUrl.parse(uploadRepoRootStr));
+			}
 		}
 		this.runeLiteVersion = runeLiteVersion;
+		this.sourceBlobs = "true".equalsIgnoreCase(System.getenv("REPO_SOURCE_BLOBS"));
 
 		return this;
 	}
 
 	public boolean isComplete()
 	{
-		return client != null && root != null;
+		return store != null;
 	}
 
 	public UploadConfiguration setClient(String credentials)
 	{
 		String repoAuth = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(MAX_REQUESTS);
+		dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
 		client = new OkHttpClient.Builder()
+			.dispatcher(dispatcher)
+			// keep enough idle connections that every in flight upload can reuse one
+			.connectionPool(new ConnectionPool(MAX_REQUESTS_PER_HOST, 5, TimeUnit.MINUTES))
 			.addInterceptor(chain ->
 			{
 				Request userAgentRequest = chain.request()
@@ -116,100 +184,127 @@ public class UploadConfiguration implements Closeable
 
 				return res;
 			})
+			.addNetworkInterceptor(HttpEvent.INTERCEPTOR)
 			.build();
 
 		return this;
 	}
 
-	public void put(HttpUrl path, File data) throws IOException
+	public static String deltaPath(String version, String fromHash)
 	{
-		try (Response res = client.newCall(new Request.Builder()
-				.url(path)
-				.put(RequestBody.create(null, data))
-				.build())
-			.execute())
-		{
-			Util.check(res);
-		}
+		return ArtifactStore.path(DIR_MANIFEST, DIR_MANIFEST_DELTA, version + "_" + fromHash + MANIFEST_TYPE_FULL);
+	}
+
+	public static String sourceBlobPath(String hash)
+	{
+		return ArtifactStore.path(DIR_SOURCE_BLOB, hash + SUFFIX_SOURCE_BLOB);
+	}
+
+	public static String sourceIndexPath(String internalName, String commit)
+	{
+		return ArtifactStore.path(DIR_SOURCE, internalName, commit + SUFFIX_SOURCE_INDEX);
 	}
 
-	public void putMkDirs(HttpUrl path, File data) throws IOException
+	/**
+	 * the data gzipped, to be stored at {@link #sourceBlobPath(String)}
+	 */
+	public static ArtifactStore.Content sourceBlob(ByteSource data)
 	{
-		mkdirs(path.newBuilder()
-			.removePathSegment(path.pathSize() - 1)
-			.build());
-		put(path, data);
+		return out ->
+		{
+			GZIPOutputStream gos = new GZIPOutputStream(out);
+			data.copyTo(gos);
+			gos.finish();
+		};
 	}
 
-	public void mkdirs(HttpUrl url) throws IOException
+	/**
+	 * Reads the signed manifest, reusing the copy in {@link #getManifestCache()} if the store says it hasn't changed
+	 *
+	 * @param signingConfig the key to verify the manifest with, or null to not verify it
+	 */
+	public PluginHubManifest.ManifestFull getManifest(String version, SigningConfiguration signingConfig) throws IOException
 	{
-		for (int i = 0; i < 2; i++)
+		String name = version + MANIFEST_TYPE_FULL;
+		String path = ArtifactStore.path(DIR_MANIFEST, name);
+		File cached = manifestCache == null ? null : new File(manifestCache, name);
+		File cachedETag = manifestCache == null ? null : new File(manifestCache, name + ".etag");
+
+		String etag = null;
+		if (cached != null && cached.exists() && cachedETag.exists())
 		{
-			try (Response res = client.newCall(new Request.Builder()
-					.url(url.newBuilder()
-						.addPathSegment("/")
-						.build())
-					.method("MKCOL", null)
-					.build())
-				.execute())
+			etag = new String(Files.readAllBytes(cachedETag.toPath()), StandardCharsets.UTF_8);
+		}
+
+		try (ArtifactStore.Fetched fetched = store.getIfNoneMatch(path, etag))
+		{
+			if (fetched == null)
 			{
-				if (res.code() == 409 && i == 0)
-				{
-					mkdirs(url.newBuilder()
-						.removePathSegment(url.pathSize() - 1)
-						.build());
+				throw new FileNotFoundException(store.url(path));
+			}
 
-					continue;
+			if (fetched.isNotModified())
+			{
+				try (InputStream is = new FileInputStream(cached))
+				{
+					return readManifest(version, is, signingConfig);
 				}
+			}
+
+			if (cached == null || fetched.getEtag() == null)
+			{
+				return readManifest(version, fetched.getBody(), signingConfig);
+			}
+
+			manifestCache.mkdirs();
+			Files.deleteIfExists(cachedETag.toPath());
+			Path tmp = Files.createTempFile(manifestCache.toPath(), name, ".tmp");
+			try
+			{
+				Files.copy(fetched.getBody(), tmp, StandardCopyOption.REPLACE_EXISTING);
 
-				// even though 405 is method not allowed, if your webdav
-				// it actually means this url already exists
-				if (res.code() != 405)
+				// only keep manifests that parse, and verify if we can
+				PluginHubManifest.ManifestFull manifest;
+				try (InputStream is = Files.newInputStream(tmp))
 				{
-					Util.check(res);
+					manifest = readManifest(version, is, signingConfig);
 				}
 
-				return;
+				Files.move(tmp, cached.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				Files.write(cachedETag.toPath(), fetched.getEtag().getBytes(StandardCharsets.UTF_8));
+				return manifest;
+			}
+			finally
+			{
+				Files.deleteIfExists(tmp);
 			}
 		}
 	}
 
-	public PluginHubManifest.ManifestFull getManifest(String version, SigningConfiguration signingConfig) throws IOException
+	private PluginHubManifest.ManifestFull readManifest(String version, InputStream in, SigningConfiguration signingConfig) throws IOException
 	{
-		try (Response res = getClient().newCall(new Request.Builder()
-				.url(getRoot().newBuilder()
-					.addPathSegment(DIR_MANIFEST)
-					.addPathSegment(version + MANIFEST_TYPE_FULL)
-					.addQueryParameter("c", System.nanoTime() + "")
-					.build())
-				.get()
-				.build())
-			.execute())
-		{
-			Util.check(res);
-
-			BufferedSource src = res.body().source();
-
-			byte[] signature = new byte[src.readInt()];
-			src.readFully(signature);
-
-			byte[] data = src.readByteArray();
-			if (signingConfig != null && !signingConfig.verify(signature, data))
-			{
-				throw new RuntimeException("Unable to verify external plugin manifest");
-			}
+		HashingInputStream his = new HashingInputStream(Hashing.sha256(), in);
+		PluginHubManifest.ManifestFull manifest = SignedManifest.read(new BufferedInputStream(his), signingConfig, PluginHubManifest.ManifestFull.class);
+		manifestHashes.put(version, PluginHubManifest.HASH_ENCODER.encodeToString(his.hash().asBytes()));
+		return manifest;
+	}
 
-			return Util.GSON.fromJson(new String(data, StandardCharsets.UTF_8), PluginHubManifest.ManifestFull.class);
-		}
-		catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException e)
-		{
-			throw new RuntimeException(e);
-		}
+	/**
+	 * @return the hash of the signed full manifest last read by {@link #getManifest}, for {@link PluginHubManifest.ManifestDelta}
+	 */
+	@Nullable
+	public String getManifestHash(String version)
+	{
+		return manifestHashes.get(version);
 	}
 
 	@Override
 	public void close()
 	{
+		if (store != null)
+		{
+			store.close();
+		}
 		if (client != null)
 		{
 			client.connectionPool().evictAll();
@@ -24,9 +24,8 @@
  */
 package net.runelite.pluginhub.uploader;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -34,9 +33,6 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.util.Comparator;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
 
 public class Uploader
 {
@@ -51,6 +47,9 @@ public class Uploader
 			SigningConfiguration signingConfig = SigningConfiguration.fromEnvironment();
 
 			PluginHubManifest.ManifestFull manifestFull = new PluginHubManifest.ManifestFull();
+			PluginHubManifest.ManifestFull oldManifest = null;
+			String oldVersion = null;
+			String oldHash = null;
 			if (!diff.isIgnoreOldManifest() || (diff.getOldManifestVersion() != null && !diff.getCopyFromOld().isEmpty()))
 			{
 				String version = diff.getOldManifestVersion();
@@ -60,6 +59,12 @@ public class Uploader
 				}
 
 				manifestFull = uploadConfig.getManifest(version, signingConfig);
+				oldVersion = version;
+				oldHash = uploadConfig.getManifestHash(version);
+
+				oldManifest = new PluginHubManifest.ManifestFull();
+				oldManifest.getJars().addAll(manifestFull.getJars());
+				oldManifest.getDisplay().addAll(manifestFull.getDisplay());
 			}
 
 			if (diff.isIgnoreOldManifest())
@@ -80,33 +85,44 @@ public class Uploader
 			PluginHubManifest.ManifestLite manifestLite = new PluginHubManifest.ManifestLite();
 			manifestLite.setJars(manifestFull.getJars());
 
-			putSigned(UploadConfiguration.MANIFEST_TYPE_FULL, manifestFull, uploadConfig, signingConfig);
-			putSigned(UploadConfiguration.MANIFEST_TYPE_LITE, manifestLite, uploadConfig, signingConfig);
+			PluginHubManifest.ManifestFull newManifest = manifestFull;
+			String newHash = putSigned(UploadConfiguration.MANIFEST_TYPE_FULL, SignedManifest.spoolJson(signingConfig, newManifest), uploadConfig);
+			putSigned(UploadConfiguration.MANIFEST_TYPE_LITE, SignedManifest.spoolJson(signingConfig, manifestLite), uploadConfig);
+			putSigned(UploadConfiguration.MANIFEST_TYPE_FULL_BINARY,
+				SignedManifest.spool(signingConfig, out -> BinaryManifest.write(newManifest, out)), uploadConfig);
+			putSigned(UploadConfiguration.MANIFEST_TYPE_LITE_BINARY,
+				SignedManifest.spool(signingConfig, out -> BinaryManifest.write(manifestLite, out)), uploadConfig);
+
+			// clients holding the old manifest can fetch just what changed. clients of another version
+			// can't use this manifest, since its plugins were built against a different api
+			if (oldHash != null && !oldHash.equals(newHash) && oldVersion.equals(uploadConfig.getRuneLiteVersion()))
+			{
+				PluginHubManifest.ManifestDelta delta = PluginHubManifest.ManifestDelta.between(oldManifest, newManifest);
+				delta.setFromHash(oldHash);
+				delta.setToHash(newHash);
+				delta.setVersion(uploadConfig.getRuneLiteVersion());
+				try (SignedManifest.Spooled signed = SignedManifest.spoolJson(signingConfig, delta))
+				{
+					uploadConfig.getStore().put(UploadConfiguration.deltaPath(oldVersion, oldHash), signed.content());
+				}
+			}
 		}
 	}
 
-	private static void putSigned(String manifestType, Object manifest, UploadConfiguration uploadConfig, SigningConfiguration signingConfig)
-		throws IOException, NoSuchAlgorithmException, SignatureException, InvalidKeyException
+	/**
+	 * puts the signed manifest, and a gzipped copy of it
+	 *
+	 * @return the hash of the signed manifest
+	 */
+	private static String putSigned(String manifestType, SignedManifest.Spooled signed, UploadConfiguration uploadConfig) throws IOException
 	{
-		byte[] data = Util.GSON.toJson(manifest).getBytes(StandardCharsets.UTF_8);
-		byte[] sig = signingConfig.sign(data);
-
-		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		new DataOutputStream(out).writeInt(sig.length);
-		out.write(sig);
-		out.write(data);
-		byte[] signed = out.toByteArray();
-
-		try (Response res = uploadConfig.getClient().newCall(new Request.Builder()
-				.url(uploadConfig.getRoot().newBuilder()
-					.addPathSegment(UploadConfiguration.DIR_MANIFEST)
-					.addPathSegment(uploadConfig.getRuneLiteVersion() + manifestType)
-					.build())
-				.put(RequestBody.create(null, signed))
-				.build())
-			.execute())
+		try (SignedManifest.Spooled s = signed)
 		{
-			Util.check(res);
+			String path = ArtifactStore.path(UploadConfiguration.DIR_MANIFEST, uploadConfig.getRuneLiteVersion() + manifestType);
+			uploadConfig.getStore().putAll(ImmutableMap.of(
+				path, s.content(),
+				path + UploadConfiguration.SUFFIX_MANIFEST_GZIP, s.gzipped()));
+			return s.getHash();
 		}
 	}
 }
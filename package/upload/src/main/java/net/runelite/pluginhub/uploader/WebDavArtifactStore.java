@@ -0,0 +1,823 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.base.Throwables;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSink;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+@Slf4j
+public class WebDavArtifactStore implements ArtifactStore
+{
+	private static final int MAX_ATTEMPTS = 4;
+	private static final long RETRY_BACKOFF_MS = 500;
+
+	// files at least this big are put in chunks, to a temporary object that is moved into place once verified
+	static final int CHUNK_SIZE = 2 * 1024 * 1024;
+	private static final int CHUNKED_THRESHOLD = 2 * CHUNK_SIZE;
+	private static final int MAX_CHUNKED_UPLOADS = 4;
+
+	// chunked uploads are staged here instead of next to their destination, so a process that dies
+	// mid upload never leaves partial objects in a collection that is served to clients
+	static final String DIR_STAGING = ".staging";
+
+	private static final String DAV = "DAV:";
+	private static final MediaType XML = MediaType.parse("application/xml; charset=utf-8");
+	private static final String PROPFIND_RESOURCETYPE = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+		+ "<propfind xmlns=\"DAV:\"><prop><resourcetype/></prop></propfind>";
+
+	private final OkHttpClient client;
+
+	@Getter
+	private final HttpUrl root;
+
+	/**
+	 * collections known to exist, relative to the root
+	 */
+	private final Set<String> collections = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * collections whose children have been added to {@link #collections}
+	 */
+	private final Set<String> listed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * set once the server is seen not to take partial puts, after which files are always put whole
+	 */
+	private final AtomicBoolean rangesUnsupported = new AtomicBoolean();
+
+	private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+		.setNameFormat("WebDavRetry-%d")
+		.setDaemon(true)
+		.build());
+
+	private final ExecutorService chunkedExecutor = Executors.newFixedThreadPool(MAX_CHUNKED_UPLOADS, new ThreadFactoryBuilder()
+		.setNameFormat("WebDavChunked-%d")
+		.setDaemon(true)
+		.build());
+
+	public WebDavArtifactStore(OkHttpClient client, HttpUrl root)
+	{
+		this.client = client;
+		this.root = root;
+	}
+
+	HttpUrl resolve(String path)
+	{
+		return root.newBuilder()
+			.addPathSegments(path)
+			.build();
+	}
+
+	@Override
+	public void put(String path, Content content) throws IOException
+	{
+		await(putAsync(path, content));
+	}
+
+	private static <T> T await(CompletableFuture<T> future) throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			throw new InterruptedIOException();
+		}
+		catch (ExecutionException e)
+		{
+			Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * enqueues the PUT on the client's dispatcher, which limits how many requests are in flight at once
+	 */
+	@Override
+	public CompletableFuture<Void> putAsync(String path, Content content)
+	{
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		try
+		{
+			// don't send the body just to get a 409 back
+			mkdirs(parent(path));
+		}
+		catch (IOException | RuntimeException e)
+		{
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		File file = content.file();
+		if (file != null && content.contentEncoding() == null && file.length() >= CHUNKED_THRESHOLD && !rangesUnsupported.get())
+		{
+			chunkedExecutor.execute(() ->
+			{
+				try
+				{
+					putChunked(path, content, file);
+					future.complete(null);
+				}
+				catch (IOException | RuntimeException e)
+				{
+					future.completeExceptionally(e);
+				}
+			});
+			return future;
+		}
+
+		enqueuePut(path, content, 1, false, future);
+		return future;
+	}
+
+	/**
+	 * puts the file in {@link #CHUNK_SIZE} ranges so a failure only resends the range it failed in, resuming
+	 * from however much the server has. The parts go to a temporary object in {@link #DIR_STAGING}, whose
+	 * length is checked after each range, and which is only moved into place once its length, and sha256 if
+	 * the server offers one, match the file.
+	 */
+	private void putChunked(String path, Content content, File file) throws IOException
+	{
+		mkdirs(DIR_STAGING);
+		String tmp = ArtifactStore.path(DIR_STAGING, UUID.randomUUID().toString());
+		long length = file.length();
+		try
+		{
+			long offset = 0;
+			for (int attempt = 1; offset < length; )
+			{
+				long end = Math.min(offset + CHUNK_SIZE, length);
+				IOException failure = null;
+				boolean permanent = false;
+				try (Response res = client.newCall(new Request.Builder()
+						.url(resolve(tmp))
+						.header("Content-Range", "bytes " + offset + "-" + (end - 1) + "/" + length)
+						.put(slice(file, offset, end - offset))
+						.build())
+					.execute())
+				{
+					if (!res.isSuccessful())
+					{
+						failure = new IOException(res.request().url() + ": " + res.code() + " " + res.message());
+						permanent = !isTransient(res.code());
+					}
+				}
+				catch (InterruptedIOException e)
+				{
+					throw e;
+				}
+				catch (IOException e)
+				{
+					failure = e;
+				}
+
+				if (failure == null)
+				{
+					long stored = uploadedLength(tmp);
+					if (stored == end)
+					{
+						offset = end;
+						attempt = 1;
+						continue;
+					}
+					if (offset > 0 && stored == end - offset)
+					{
+						// the range replaced the object instead of being written at its offset
+						rangesUnsupported("ignores Content-Range");
+						putWhole(path, content);
+						return;
+					}
+					failure = new IOException(resolve(tmp) + ": has " + stored + " bytes, expected " + end);
+				}
+
+				if (permanent && offset == 0)
+				{
+					rangesUnsupported("refused a partial put: " + failure.getMessage());
+					putWhole(path, content);
+					return;
+				}
+				if (permanent || attempt >= MAX_ATTEMPTS)
+				{
+					throw failure;
+				}
+				sleep(RETRY_BACKOFF_MS << (attempt - 1));
+				attempt++;
+
+				offset = Math.min(uploadedLength(tmp), end);
+			}
+
+			if (!verify(tmp, file, length))
+			{
+				// the server lost or mangled part of the file
+				putWhole(path, content);
+				return;
+			}
+
+			try (Response res = client.newCall(new Request.Builder()
+					.url(resolve(tmp))
+					.header("Destination", resolve(path).toString())
+					.header("Overwrite", "T")
+					.method("MOVE", null)
+					.build())
+				.execute())
+			{
+				Util.check(res);
+			}
+			tmp = null;
+		}
+		finally
+		{
+			if (tmp != null)
+			{
+				deleteQuietly(tmp);
+			}
+		}
+	}
+
+	private void rangesUnsupported(String reason)
+	{
+		if (rangesUnsupported.compareAndSet(false, true))
+		{
+			log.warn("{} {}; putting files whole from now on", root, reason);
+		}
+	}
+
+	private void putWhole(String path, Content content) throws IOException
+	{
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		enqueuePut(path, content, 1, false, future);
+		await(future);
+	}
+
+	private long uploadedLength(String path) throws IOException
+	{
+		try (Response res = client.newCall(new Request.Builder()
+				.url(resolve(path))
+				.head()
+				.build())
+			.execute())
+		{
+			if (res.code() == 404)
+			{
+				return 0;
+			}
+			Util.check(res);
+			String length = res.header("Content-Length");
+			return length == null ? 0 : Long.parseLong(length);
+		}
+	}
+
+	/**
+	 * checks the object with a single HEAD, instead of reading it back, which would double the transfer.
+	 * The length was already checked after each range, so unless the server returns a Digest this only
+	 * catches the object changing since.
+	 */
+	private boolean verify(String path, File file, long length) throws IOException
+	{
+		try (Response res = client.newCall(new Request.Builder()
+				.url(resolve(path))
+				.header("Want-Digest", "SHA-256")
+				.head()
+				.build())
+			.execute())
+		{
+			Util.check(res);
+			if (!Long.toString(length).equals(res.header("Content-Length")))
+			{
+				return false;
+			}
+
+			// most servers ignore Want-Digest
+			String digest = digest(res.header("Digest"), "SHA-256");
+			return digest == null
+				|| Base64.getEncoder().encodeToString(Files.asByteSource(file).hash(Hashing.sha256()).asBytes()).equals(digest);
+		}
+	}
+
+	/**
+	 * @return the value for the algorithm from a RFC 3230 Digest header
+	 */
+	@Nullable
+	static String digest(@Nullable String header, String algorithm)
+	{
+		if (header == null)
+		{
+			return null;
+		}
+		for (String part : header.split(","))
+		{
+			int eq = part.indexOf('=');
+			if (eq != -1 && part.substring(0, eq).trim().equalsIgnoreCase(algorithm))
+			{
+				return part.substring(eq + 1).trim();
+			}
+		}
+		return null;
+	}
+
+	private void deleteQuietly(String path)
+	{
+		try (Response ignored = client.newCall(new Request.Builder()
+				.url(resolve(path))
+				.delete()
+				.build())
+			.execute())
+		{
+		}
+		catch (IOException ignored)
+		{
+		}
+	}
+
+	private static RequestBody slice(File file, long offset, long length)
+	{
+		return new RequestBody()
+		{
+			@Override
+			public MediaType contentType()
+			{
+				return null;
+			}
+
+			@Override
+			public long contentLength()
+			{
+				return length;
+			}
+
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException
+			{
+				try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+				{
+					raf.seek(offset);
+					ByteStreams.copy(ByteStreams.limit(Channels.newInputStream(raf.getChannel()), length), sink.outputStream());
+				}
+			}
+		};
+	}
+
+	private static void sleep(long millis) throws InterruptedIOException
+	{
+		try
+		{
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException e)
+		{
+			throw new InterruptedIOException();
+		}
+	}
+
+	private void enqueuePut(String path, Content content, int attempt, boolean madeParent, CompletableFuture<Void> future)
+	{
+		HttpUrl url = resolve(path);
+		Request.Builder req = new Request.Builder()
+			.url(url)
+			.put(body(content));
+		if (content.contentEncoding() != null)
+		{
+			req.header("Content-Encoding", content.contentEncoding());
+		}
+
+		client.newCall(req.build()).enqueue(new Callback()
+		{
+			@Override
+			public void onFailure(Call call, IOException e)
+			{
+				retry(path, content, attempt, madeParent, future, e);
+			}
+
+			@Override
+			public void onResponse(Call call, Response response)
+			{
+				try (Response res = response)
+				{
+					if (res.code() == 409 && !madeParent)
+					{
+						// the parent collection doesn't exist, even if we thought it did
+						collections.remove(parent(path));
+						mkdirs(parent(path));
+						enqueuePut(path, content, attempt, true, future);
+						return;
+					}
+
+					if (isTransient(res.code()))
+					{
+						retry(path, content, attempt, madeParent, future,
+							new IOException(url + ": " + res.code() + " " + res.message()));
+						return;
+					}
+
+					Util.check(res);
+					collections.add(parent(path));
+					future.complete(null);
+				}
+				catch (IOException | RuntimeException e)
+				{
+					future.completeExceptionally(e);
+				}
+			}
+		});
+	}
+
+	private void retry(String path, Content content, int attempt, boolean madeParent, CompletableFuture<Void> future, IOException cause)
+	{
+		if (attempt >= MAX_ATTEMPTS || retryExecutor.isShutdown())
+		{
+			future.completeExceptionally(cause);
+			return;
+		}
+
+		// exponential backoff with jitter, so a struggling server isn't hit by every upload at once
+		long delay = RETRY_BACKOFF_MS << (attempt - 1);
+		delay += ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+		retryExecutor.schedule(() -> enqueuePut(path, content, attempt + 1, madeParent, future), delay, TimeUnit.MILLISECONDS);
+	}
+
+	static boolean isTransient(int code)
+	{
+		// 501 and 505 won't change no matter how many times they are asked
+		return code == 408 || code == 429 || (code >= 500 && code != 501 && code != 505);
+	}
+
+	private static RequestBody body(Content content)
+	{
+		MediaType type = content.contentType() == null ? null : MediaType.parse(content.contentType());
+		return new RequestBody()
+		{
+			@Override
+			public MediaType contentType()
+			{
+				return type;
+			}
+
+			@Override
+			public long contentLength()
+			{
+				return content.length();
+			}
+
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException
+			{
+				content.writeTo(sink.outputStream());
+			}
+		};
+	}
+
+	@Override
+	public InputStream get(String path) throws IOException
+	{
+		Response res = client.newCall(new Request.Builder()
+				.url(resolve(path))
+				.get()
+				.build())
+			.execute();
+		try
+		{
+			if (res.code() == 404)
+			{
+				res.close();
+				return null;
+			}
+			Util.check(res);
+			return res.body().byteStream();
+		}
+		catch (IOException e)
+		{
+			res.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public Fetched getIfNoneMatch(String path, String etag) throws IOException
+	{
+		Request.Builder req = new Request.Builder()
+			.url(resolve(path))
+			// have any caches in front of the server revalidate, since manifests are overwritten in place
+			.header("Cache-Control", "no-cache")
+			.get();
+		if (etag != null)
+		{
+			req.header("If-None-Match", etag);
+		}
+
+		Response res = client.newCall(req.build()).execute();
+		try
+		{
+			if (res.code() == 404)
+			{
+				res.close();
+				return null;
+			}
+			if (res.code() == 304)
+			{
+				res.close();
+				return new Fetched(null, etag);
+			}
+			Util.check(res);
+			return new Fetched(res.body().byteStream(), res.header("ETag"));
+		}
+		catch (IOException e)
+		{
+			res.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public boolean exists(String path) throws IOException
+	{
+		try (Response res = client.newCall(new Request.Builder()
+				.url(resolve(path))
+				.head()
+				.build())
+			.execute())
+		{
+			if (res.code() == 404)
+			{
+				return false;
+			}
+			Util.check(res);
+			return true;
+		}
+	}
+
+	/**
+	 * sends all of the HEADs at once instead of waiting for each in turn
+	 */
+	@Override
+	public Set<String> existing(Collection<String> paths) throws IOException
+	{
+		Map<String, CompletableFuture<Boolean>> heads = new HashMap<>();
+		for (String path : paths)
+		{
+			CompletableFuture<Boolean> future = new CompletableFuture<>();
+			client.newCall(new Request.Builder()
+					.url(resolve(path))
+					.head()
+					.build())
+				.enqueue(new Callback()
+				{
+					@Override
+					public void onFailure(Call call, IOException e)
+					{
+						future.completeExceptionally(e);
+					}
+
+					@Override
+					public void onResponse(Call call, Response response)
+					{
+						try (Response res = response)
+						{
+							if (res.code() == 404)
+							{
+								future.complete(false);
+								return;
+							}
+							Util.check(res);
+							future.complete(true);
+						}
+						catch (IOException e)
+						{
+							future.completeExceptionally(e);
+						}
+					}
+				});
+			heads.put(path, future);
+		}
+
+		Set<String> existing = new HashSet<>();
+		for (Map.Entry<String, CompletableFuture<Boolean>> e : heads.entrySet())
+		{
+			if (await(e.getValue()))
+			{
+				existing.add(e.getKey());
+			}
+		}
+		return existing;
+	}
+
+	@Override
+	public void mkdirs(String path) throws IOException
+	{
+		if (isKnownCollection(path))
+		{
+			return;
+		}
+
+		for (int i = 0; i < 2; i++)
+		{
+			try (Response res = client.newCall(new Request.Builder()
+					.url(resolve(path).newBuilder()
+						.addPathSegment("/")
+						.build())
+					.method("MKCOL", null)
+					.build())
+				.execute())
+			{
+				if (res.code() == 409 && i == 0)
+				{
+					collections.remove(parent(path));
+					mkdirs(parent(path));
+
+					continue;
+				}
+
+				// even though 405 is method not allowed, if your webdav
+				// it actually means this url already exists
+				if (res.code() != 405)
+				{
+					Util.check(res);
+				}
+
+				collections.add(path);
+				return;
+			}
+		}
+	}
+
+	private boolean isKnownCollection(String path)
+	{
+		if (path.isEmpty() || collections.contains(path))
+		{
+			return true;
+		}
+
+		// list each parent once, which is one request for all of its children
+		// instead of a MKCOL for each of them
+		String parent = parent(path);
+		if (listed.add(parent))
+		{
+			try
+			{
+				collections.addAll(listCollections(parent));
+			}
+			catch (IOException e)
+			{
+				// the server might not support PROPFIND; fall back to MKCOL
+			}
+		}
+		return collections.contains(path);
+	}
+
+	/**
+	 * @return the paths of the collections directly inside of the collection
+	 */
+	Set<String> listCollections(String path) throws IOException
+	{
+		HttpUrl url = path.isEmpty() ? root : resolve(path + "/");
+		try (Response res = client.newCall(new Request.Builder()
+				.url(url)
+				.header("Depth", "1")
+				.method("PROPFIND", RequestBody.create(XML, PROPFIND_RESOURCETYPE))
+				.build())
+			.execute())
+		{
+			if (res.code() != 207)
+			{
+				throw new IOException(url + ": " + res.code() + " " + res.message());
+			}
+
+			Document doc;
+			try
+			{
+				DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+				dbf.setNamespaceAware(true);
+				dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+				doc = dbf.newDocumentBuilder().parse(res.body().byteStream());
+			}
+			catch (ParserConfigurationException | SAXException e)
+			{
+				throw new IOException(url + ": bad PROPFIND response", e);
+			}
+
+			List<String> rootSegments = segments(root);
+			Set<String> collections = new HashSet<>();
+			NodeList responses = doc.getElementsByTagNameNS(DAV, "response");
+			for (int i = 0; i < responses.getLength(); i++)
+			{
+				Element response = (Element) responses.item(i);
+				NodeList href = response.getElementsByTagNameNS(DAV, "href");
+				if (href.getLength() == 0 || response.getElementsByTagNameNS(DAV, "collection").getLength() == 0)
+				{
+					continue;
+				}
+
+				HttpUrl child = url.resolve(href.item(0).getTextContent().trim());
+				if (child == null)
+				{
+					continue;
+				}
+
+				List<String> segments = segments(child);
+				if (segments.size() > rootSegments.size() && segments.subList(0, rootSegments.size()).equals(rootSegments))
+				{
+					String childPath = String.join("/", segments.subList(rootSegments.size(), segments.size()));
+					if (!childPath.equals(path))
+					{
+						collections.add(childPath);
+					}
+				}
+			}
+			return collections;
+		}
+	}
+
+	private static List<String> segments(HttpUrl url)
+	{
+		List<String> segments = new ArrayList<>(url.pathSegments());
+		segments.removeIf(String::isEmpty);
+		return segments;
+	}
+
+	private static String parent(String path)
+	{
+		int slash = path.lastIndexOf('/');
+		return slash == -1 ? "" : path.substring(0, slash);
+	}
+
+	@Override
+	public String url(String path)
+	{
+		return resolve(path).toString();
+	}
+
+	@Override
+	public void close()
+	{
+		retryExecutor.shutdown();
+		chunkedExecutor.shutdown();
+	}
+}
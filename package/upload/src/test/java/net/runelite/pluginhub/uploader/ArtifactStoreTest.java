@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactStoreTest
+{
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testLocal() throws IOException
+	{
+		Path root = tmp.getRoot().toPath();
+		LocalArtifactStore store = new LocalArtifactStore(root);
+		roundTrip(store);
+
+		Assert.assertTrue(Files.isRegularFile(root.resolve("jar/foo_abc.jar")));
+		Assert.assertTrue(store.url("jar/foo_abc.jar").startsWith("file:"));
+
+		// only the artifact is left behind
+		try (Stream<Path> files = Files.list(root.resolve("jar")))
+		{
+			Assert.assertEquals(1, files.count());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLocalEscape() throws IOException
+	{
+		new LocalArtifactStore(tmp.getRoot().toPath()).exists("../escape");
+	}
+
+	@Test
+	public void testMemory() throws IOException
+	{
+		roundTrip(new MemoryArtifactStore());
+	}
+
+	@Test
+	public void testSourceBlobs() throws IOException
+	{
+		MemoryArtifactStore store = new MemoryArtifactStore();
+		store.put(UploadConfiguration.sourceBlobPath("abc"),
+			UploadConfiguration.sourceBlob(ByteSource.wrap("class Foo {}".getBytes(StandardCharsets.UTF_8))));
+
+		try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(store.getBytes("source-blob/abc.gz"))))
+		{
+			Assert.assertEquals("class Foo {}", new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void roundTrip(ArtifactStore store) throws IOException
+	{
+		Assert.assertFalse(store.exists("jar/foo_abc.jar"));
+		Assert.assertNull(store.get("jar/foo_abc.jar"));
+
+		store.put("jar/foo_abc.jar", ArtifactStore.Content.of("first".getBytes(StandardCharsets.UTF_8)));
+		store.put("jar/foo_abc.jar", ArtifactStore.Content.of("second".getBytes(StandardCharsets.UTF_8)));
+		Assert.assertTrue(store.exists("jar/foo_abc.jar"));
+		try (InputStream is = store.get("jar/foo_abc.jar"))
+		{
+			Assert.assertEquals("second", new String(ByteStreams.toByteArray(is), StandardCharsets.UTF_8));
+		}
+
+		Assert.assertEquals(ImmutableSet.of("jar/foo_abc.jar"),
+			store.existing(ImmutableList.of("jar/foo_abc.jar", "jar/bar_abc.jar")));
+	}
+}
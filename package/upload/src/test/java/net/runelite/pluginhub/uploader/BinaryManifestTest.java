@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryManifestTest
+{
+	private static String hash(String data)
+	{
+		return PluginHubManifest.HASH_ENCODER.encodeToString(Hashing.sha256().hashString(data, StandardCharsets.UTF_8).asBytes());
+	}
+
+	private static PluginHubManifest.ManifestFull manifest()
+	{
+		PluginHubManifest.ManifestFull manifest = new PluginHubManifest.ManifestFull();
+		for (String name : new String[]{"zulrah", "agility", "mining"})
+		{
+			PluginHubManifest.JarData jar = new PluginHubManifest.JarData();
+			jar.setInternalName(name);
+			jar.setDisplayName(name.toUpperCase());
+			jar.setJarHash(hash(name));
+			jar.setJarSize(name.length() * 100_000);
+			manifest.getJars().add(jar);
+
+			PluginHubManifest.DisplayData display = new PluginHubManifest.DisplayData();
+			display.setInternalName(name);
+			display.setDisplayName(name.toUpperCase());
+			display.setVersion("1.0");
+			display.setIconHash(hash(name + ".png"));
+			display.setCreatedAt(1_690_000_000_000L);
+			display.setLastUpdatedAt(1_700_000_000_000L);
+			display.setAuthor("author");
+			display.setDescription("does \u00e9 things");
+			display.setTags(new String[]{"skilling", name});
+			manifest.getDisplay().add(display);
+		}
+
+		// a plugin which failed its build has display data but no jar
+		PluginHubManifest.DisplayData failed = new PluginHubManifest.DisplayData();
+		failed.setInternalName("broken");
+		failed.setBuildFailAt(1_700_000_000_001L);
+		failed.setUnavailableReason("build failed");
+		failed.setIconHash("not-a-sha256");
+		manifest.getDisplay().add(failed);
+		return manifest;
+	}
+
+	@Test
+	public void testRoundTrip()
+	{
+		PluginHubManifest.ManifestFull manifest = manifest();
+		byte[] data = BinaryManifest.encode(manifest);
+		Assert.assertEquals(manifest, BinaryManifest.decode(ByteBuffer.wrap(data)));
+
+		Assert.assertTrue(data.length < Util.GSON.toJson(manifest).getBytes(StandardCharsets.UTF_8).length);
+	}
+
+	@Test
+	public void testLite()
+	{
+		PluginHubManifest.ManifestFull manifest = manifest();
+		PluginHubManifest.ManifestLite lite = new PluginHubManifest.ManifestLite();
+		lite.setJars(manifest.getJars());
+
+		PluginHubManifest.ManifestFull decoded = BinaryManifest.decode(ByteBuffer.wrap(BinaryManifest.encode(lite)));
+		Assert.assertEquals(manifest.getJars(), decoded.getJars());
+		Assert.assertTrue(decoded.getDisplay().isEmpty());
+	}
+
+	@Test
+	public void testFind()
+	{
+		PluginHubManifest.ManifestFull manifest = manifest();
+		ByteBuffer buf = ByteBuffer.wrap(BinaryManifest.encode(manifest));
+
+		Assert.assertEquals(manifest.getJars().get(2), BinaryManifest.findJar(buf, "mining"));
+		Assert.assertEquals(manifest.getDisplay().get(0), BinaryManifest.findDisplay(buf, "zulrah"));
+		Assert.assertEquals(manifest.getDisplay().get(3), BinaryManifest.findDisplay(buf, "broken"));
+		Assert.assertNull(BinaryManifest.findJar(buf, "broken"));
+		Assert.assertNull(BinaryManifest.findJar(buf, "missing"));
+		Assert.assertNull(BinaryManifest.findDisplay(buf, "aaa"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadMagic()
+	{
+		BinaryManifest.decode(ByteBuffer.wrap("{\"jars\":[]}".getBytes(StandardCharsets.UTF_8)));
+	}
+}
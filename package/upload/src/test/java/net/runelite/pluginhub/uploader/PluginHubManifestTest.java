@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PluginHubManifestTest
+{
+	private static PluginHubManifest.JarData jar(String name, String hash)
+	{
+		PluginHubManifest.JarData jar = new PluginHubManifest.JarData();
+		jar.setInternalName(name);
+		jar.setJarHash(hash);
+		return jar;
+	}
+
+	private static PluginHubManifest.DisplayData display(String name, String version)
+	{
+		PluginHubManifest.DisplayData display = new PluginHubManifest.DisplayData();
+		display.setInternalName(name);
+		display.setVersion(version);
+		return display;
+	}
+
+	@Test
+	public void testDelta()
+	{
+		PluginHubManifest.ManifestFull from = new PluginHubManifest.ManifestFull();
+		from.getJars().addAll(ImmutableList.of(jar("same", "1"), jar("changed", "1"), jar("removed", "1")));
+		from.getDisplay().addAll(ImmutableList.of(display("same", "1"), display("changed", "1"), display("removed", "1")));
+
+		PluginHubManifest.ManifestFull to = new PluginHubManifest.ManifestFull();
+		to.getJars().addAll(ImmutableList.of(jar("same", "1"), jar("changed", "2"), jar("added", "1")));
+		// a plugin that failed to build keeps its display data
+		to.getDisplay().addAll(ImmutableList.of(display("same", "1"), display("changed", "2"), display("added", "1"), display("removed", "1")));
+
+		PluginHubManifest.ManifestDelta delta = PluginHubManifest.ManifestDelta.between(from, to);
+		Assert.assertEquals(ImmutableList.of(jar("added", "1")), delta.getAdded().getJars());
+		Assert.assertEquals(ImmutableList.of(display("added", "1")), delta.getAdded().getDisplay());
+		Assert.assertEquals(ImmutableList.of(jar("changed", "2")), delta.getReplaced().getJars());
+		Assert.assertEquals(ImmutableList.of(display("changed", "2")), delta.getReplaced().getDisplay());
+		Assert.assertEquals(ImmutableList.of("removed"), delta.getRemovedJars());
+		Assert.assertEquals(ImmutableList.of(), delta.getRemovedDisplay());
+		Assert.assertFalse(delta.isEmpty());
+
+		Assert.assertTrue(PluginHubManifest.ManifestDelta.between(to, to).isEmpty());
+	}
+}
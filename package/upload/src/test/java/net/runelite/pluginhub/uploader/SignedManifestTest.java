@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SignedManifestTest
+{
+	@Test
+	public void testSpool() throws Exception
+	{
+		SigningConfiguration signingConfig = new SigningConfiguration(SigningConfigurationTest.TEST_SIGNING_KEY);
+		PluginHubManifest.ManifestFull manifest = new PluginHubManifest.ManifestFull();
+		PluginHubManifest.JarData jar = new PluginHubManifest.JarData();
+		jar.setInternalName("example");
+		jar.setJarHash("abc");
+		manifest.getJars().add(jar);
+
+		byte[] expected = UploadConfigurationTest.signedManifest(manifest, signingConfig);
+		try (SignedManifest.Spooled spooled = SignedManifest.spoolJson(signingConfig, manifest))
+		{
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			spooled.content().writeTo(out);
+			Assert.assertArrayEquals(expected, out.toByteArray());
+			Assert.assertEquals(expected.length, spooled.content().length());
+			Assert.assertEquals(PluginHubManifest.HASH_ENCODER.encodeToString(Hashing.sha256().hashBytes(expected).asBytes()),
+				spooled.getHash());
+
+			out.reset();
+			spooled.gzipped().writeTo(out);
+			try (GZIPInputStream gzis = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())))
+			{
+				Assert.assertEquals(manifest, SignedManifest.read(gzis, signingConfig, PluginHubManifest.ManifestFull.class));
+			}
+		}
+	}
+}
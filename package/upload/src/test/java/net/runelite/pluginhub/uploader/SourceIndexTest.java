@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SourceIndexTest
+{
+	@Test
+	public void testWriteZip() throws IOException
+	{
+		Map<String, byte[]> blobs = ImmutableMap.of(
+			"a", "hello".getBytes(StandardCharsets.UTF_8),
+			"b", "world".getBytes(StandardCharsets.UTF_8));
+
+		SourceIndex index = new SourceIndex();
+		index.getFiles().add(new SourceIndex.Entry("build.gradle", "a", 5));
+		index.getFiles().add(new SourceIndex.Entry("src/main/java/Foo.java", "b", 5));
+		index.getFiles().add(new SourceIndex.Entry("README.md", "a", 5));
+
+		// the index is uploaded as json, so make sure it survives that
+		index = Util.GSON.fromJson(Util.GSON.toJson(index), SourceIndex.class);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		index.writeZip(out, hash -> new ByteArrayInputStream(blobs.get(hash)));
+
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray())))
+		{
+			for (SourceIndex.Entry e : index.getFiles())
+			{
+				ZipEntry ze = zis.getNextEntry();
+				Assert.assertEquals(e.getPath(), ze.getName());
+				Assert.assertArrayEquals(blobs.get(e.getHash()), ByteStreams.toByteArray(zis));
+			}
+			Assert.assertNull(zis.getNextEntry());
+		}
+	}
+}
@@ -24,7 +24,12 @@
  */
 package net.runelite.pluginhub.uploader;
 
+import com.google.common.hash.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -32,8 +37,11 @@ import okhttp3.Response;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class UploadConfigurationTest
 {
@@ -62,4 +70,64 @@ public class UploadConfigurationTest
 		RecordedRequest r2 = server.takeRequest();
 		Assert.assertEquals("Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ==", r2.getHeader("Authorization"));
 	}
-}
\ No newline at end of file
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	static byte[] signedManifest(PluginHubManifest.ManifestFull manifest, SigningConfiguration signingConfig) throws Exception
+	{
+		byte[] data = Util.GSON.toJson(manifest).getBytes(StandardCharsets.UTF_8);
+		byte[] sig = signingConfig.sign(data);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DataOutputStream(out).writeInt(sig.length);
+		out.write(sig);
+		out.write(data);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void testManifestCache() throws Exception
+	{
+		SigningConfiguration signingConfig = new SigningConfiguration(SigningConfigurationTest.TEST_SIGNING_KEY);
+		PluginHubManifest.ManifestFull manifest = new PluginHubManifest.ManifestFull();
+		PluginHubManifest.JarData jar = new PluginHubManifest.JarData();
+		jar.setInternalName("example");
+		jar.setJarHash("abc");
+		manifest.getJars().add(jar);
+		byte[] signed = signedManifest(manifest, signingConfig);
+
+		MockWebServer server = new MockWebServer();
+		server.enqueue(new MockResponse().setHeader("ETag", "\"1\"").setBody(new Buffer().write(signed)));
+		server.enqueue(new MockResponse().setResponseCode(304));
+
+		UploadConfiguration config = new UploadConfiguration()
+			.setStore(new WebDavArtifactStore(new OkHttpClient(), server.url("/")))
+			.setManifestCache(tmp.getRoot());
+
+		Assert.assertEquals(manifest, config.getManifest("1.0", signingConfig));
+		Assert.assertNull(server.takeRequest().getHeader("If-None-Match"));
+		String hash = PluginHubManifest.HASH_ENCODER.encodeToString(Hashing.sha256().hashBytes(signed).asBytes());
+		Assert.assertEquals(hash, config.getManifestHash("1.0"));
+
+		Assert.assertEquals(manifest, config.getManifest("1.0", signingConfig));
+		RecordedRequest second = server.takeRequest();
+		Assert.assertEquals("/manifest/1.0_full.js", second.getPath());
+		Assert.assertEquals("\"1\"", second.getHeader("If-None-Match"));
+		Assert.assertEquals(hash, config.getManifestHash("1.0"));
+
+		// a tampered manifest isn't used, or cached
+		signed[signed.length - 3] ^= 1;
+		server.enqueue(new MockResponse().setHeader("ETag", "\"2\"").setBody(new Buffer().write(signed)));
+		try
+		{
+			config.getManifest("2.0", signingConfig);
+			Assert.fail();
+		}
+		catch (RuntimeException e)
+		{
+			Assert.assertFalse(new File(tmp.getRoot(), "2.0_full.js").exists());
+		}
+		server.shutdown();
+	}
+}
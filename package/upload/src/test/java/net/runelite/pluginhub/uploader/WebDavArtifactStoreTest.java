@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026 Abex
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.runelite.pluginhub.uploader;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebDavArtifactStoreTest
+{
+	private MockWebServer server;
+	private WebDavArtifactStore store;
+
+	@Before
+	public void before() throws IOException
+	{
+		server = new MockWebServer();
+		server.start();
+		store = new WebDavArtifactStore(new OkHttpClient(), server.url("/repo/"));
+	}
+
+	@After
+	public void after() throws IOException
+	{
+		store.close();
+		server.shutdown();
+	}
+
+	private static MockResponse multistatus(String... hrefs)
+	{
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?><d:multistatus xmlns:d=\"DAV:\">");
+		for (String href : hrefs)
+		{
+			xml.append("<d:response><d:href>").append(href).append("</d:href><d:propstat><d:prop><d:resourcetype>")
+				.append(href.endsWith("/") ? "<d:collection/>" : "")
+				.append("</d:resourcetype></d:prop></d:propstat></d:response>");
+		}
+		return new MockResponse().setResponseCode(207).setBody(xml.append("</d:multistatus>").toString());
+	}
+
+	@Test
+	public void testRetry() throws Exception
+	{
+		server.enqueue(multistatus("/repo/", "/repo/jar/"));
+		server.enqueue(new MockResponse().setResponseCode(503));
+		server.enqueue(new MockResponse().setResponseCode(201));
+
+		store.putAsync("jar/foo.jar", ArtifactStore.Content.of("foo".getBytes(StandardCharsets.UTF_8))).get();
+
+		Assert.assertEquals(3, server.getRequestCount());
+		Assert.assertEquals("PROPFIND", server.takeRequest().getMethod());
+		for (int i = 0; i < 2; i++)
+		{
+			RecordedRequest req = server.takeRequest();
+			Assert.assertEquals("/repo/jar/foo.jar", req.getPath());
+			Assert.assertEquals("foo", req.getBody().readUtf8());
+		}
+	}
+
+	@Test
+	public void testKnownCollections() throws Exception
+	{
+		server.enqueue(multistatus("/repo/log/", "/repo/log/bar/", "/repo/log/bar.txt", "http://elsewhere/log/baz/"));
+		Assert.assertEquals(ImmutableSet.of("log/bar"), store.listCollections("log"));
+		server.takeRequest();
+
+		// foo isn't in log, so it is created before the put
+		server.enqueue(multistatus("/repo/log/", "/repo/log/bar/"));
+		server.enqueue(new MockResponse().setResponseCode(201));
+		server.enqueue(new MockResponse().setResponseCode(201));
+		store.put("log/foo/1.log", ArtifactStore.Content.of(new byte[1]));
+		Assert.assertEquals("PROPFIND", server.takeRequest().getMethod());
+		RecordedRequest mkcol = server.takeRequest();
+		Assert.assertEquals("MKCOL", mkcol.getMethod());
+		Assert.assertTrue(mkcol.getPath().startsWith("/repo/log/foo/"));
+		Assert.assertEquals("PUT", server.takeRequest().getMethod());
+
+		// now it is known, so only the put is sent
+		server.enqueue(new MockResponse().setResponseCode(201));
+		store.put("log/foo/2.log", ArtifactStore.Content.of(new byte[1]));
+		Assert.assertEquals("PUT", server.takeRequest().getMethod());
+
+		// until it is deleted out from under us
+		server.enqueue(new MockResponse().setResponseCode(409));
+		server.enqueue(new MockResponse().setResponseCode(201));
+		server.enqueue(new MockResponse().setResponseCode(201));
+		store.put("log/foo/3.log", ArtifactStore.Content.of(new byte[1]));
+		Assert.assertEquals("PUT", server.takeRequest().getMethod());
+		Assert.assertEquals("MKCOL", server.takeRequest().getMethod());
+		Assert.assertEquals("PUT", server.takeRequest().getMethod());
+		Assert.assertEquals(8, server.getRequestCount());
+	}
+
+	@Test
+	public void testPermanentFailure() throws InterruptedException
+	{
+		// no PROPFIND support, so it falls back to MKCOL
+		server.enqueue(new MockResponse().setResponseCode(405));
+		server.enqueue(new MockResponse().setResponseCode(405));
+		server.enqueue(new MockResponse().setResponseCode(403));
+
+		CompletableFuture<Void> put = store.putAsync("jar/foo.jar", ArtifactStore.Content.of(new byte[1]));
+		try
+		{
+			put.get();
+			Assert.fail();
+		}
+		catch (ExecutionException e)
+		{
+			Assert.assertTrue(e.getCause() instanceof IOException);
+		}
+		Assert.assertEquals(3, server.getRequestCount());
+	}
+
+	@Test
+	public void testExisting() throws IOException
+	{
+		server.setDispatcher(new Dispatcher()
+		{
+			@Override
+			public MockResponse dispatch(RecordedRequest request)
+			{
+				return new MockResponse().setResponseCode(request.getPath().contains("present") ? 200 : 404);
+			}
+		});
+
+		Assert.assertEquals(ImmutableSet.of("jar/present_1.jar", "icon/present_2.png"),
+			store.existing(ImmutableList.of("jar/present_1.jar", "jar/missing_1.jar", "icon/present_2.png", "api/missing_1.api")));
+		Assert.assertEquals(4, server.getRequestCount());
+	}
+
+	@Test
+	public void testChunkedFallback() throws Exception
+	{
+		File file = File.createTempFile("chunked", ".zip");
+		try
+		{
+			Files.write(file.toPath(), new byte[WebDavArtifactStore.CHUNK_SIZE * 3]);
+
+			server.enqueue(multistatus("/repo/", "/repo/source/"));
+			server.enqueue(new MockResponse().setResponseCode(201));
+			// the first range is refused, so the whole file is put instead
+			server.enqueue(new MockResponse().setResponseCode(501));
+			server.enqueue(new MockResponse().setResponseCode(201));
+			server.enqueue(new MockResponse().setResponseCode(404));
+
+			store.put("source/foo.zip", ArtifactStore.Content.of(file));
+
+			server.takeRequest();
+			Assert.assertEquals("MKCOL", server.takeRequest().getMethod());
+			RecordedRequest range = server.takeRequest();
+			Assert.assertEquals("bytes 0-" + (WebDavArtifactStore.CHUNK_SIZE - 1) + "/" + file.length(), range.getHeader("Content-Range"));
+			Assert.assertTrue(range.getPath().startsWith("/repo/.staging/"));
+
+			RecordedRequest whole = server.takeRequest();
+			Assert.assertEquals("/repo/source/foo.zip", whole.getPath());
+			Assert.assertNull(whole.getHeader("Content-Range"));
+			Assert.assertEquals(file.length(), whole.getBodySize());
+
+			Assert.assertEquals("DELETE", server.takeRequest().getMethod());
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testChunkedCorrupt() throws Exception
+	{
+		File file = File.createTempFile("chunked", ".zip");
+		try
+		{
+			Files.write(file.toPath(), new byte[WebDavArtifactStore.CHUNK_SIZE * 3]);
+
+			server.enqueue(multistatus("/repo/", "/repo/source/", "/repo/.staging/"));
+			for (int i = 1; i <= 3; i++)
+			{
+				server.enqueue(new MockResponse().setResponseCode(201));
+				server.enqueue(new MockResponse().setHeader("Content-Length", WebDavArtifactStore.CHUNK_SIZE * i));
+			}
+			// the length is right, but the digest isn't
+			server.enqueue(new MockResponse()
+				.setHeader("Content-Length", file.length())
+				.setHeader("Digest", "SHA-256=corrupt"));
+			server.enqueue(new MockResponse().setResponseCode(201));
+			server.enqueue(new MockResponse().setResponseCode(204));
+
+			store.put("source/foo.zip", ArtifactStore.Content.of(file));
+
+			server.takeRequest();
+			for (int i = 0; i < 3; i++)
+			{
+				Assert.assertNotNull(server.takeRequest().getHeader("Content-Range"));
+				Assert.assertEquals("HEAD", server.takeRequest().getMethod());
+			}
+			RecordedRequest verify = server.takeRequest();
+			Assert.assertEquals("HEAD", verify.getMethod());
+			Assert.assertEquals("SHA-256", verify.getHeader("Want-Digest"));
+
+			// never moved into place, or read back
+			RecordedRequest whole = server.takeRequest();
+			Assert.assertEquals("PUT", whole.getMethod());
+			Assert.assertEquals("/repo/source/foo.zip", whole.getPath());
+			Assert.assertEquals(file.length(), whole.getBodySize());
+
+			Assert.assertEquals("DELETE", server.takeRequest().getMethod());
+			Assert.assertEquals(10, server.getRequestCount());
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testChunkedRangesIgnored() throws Exception
+	{
+		File file = File.createTempFile("chunked", ".zip");
+		try
+		{
+			Files.write(file.toPath(), new byte[WebDavArtifactStore.CHUNK_SIZE * 3]);
+
+			server.enqueue(multistatus("/repo/", "/repo/source/", "/repo/.staging/"));
+			server.enqueue(new MockResponse().setResponseCode(201));
+			server.enqueue(new MockResponse().setHeader("Content-Length", WebDavArtifactStore.CHUNK_SIZE));
+			// the second range replaces the first
+			server.enqueue(new MockResponse().setResponseCode(201));
+			server.enqueue(new MockResponse().setHeader("Content-Length", WebDavArtifactStore.CHUNK_SIZE));
+			server.enqueue(new MockResponse().setResponseCode(201));
+			server.enqueue(new MockResponse().setResponseCode(204));
+
+			store.put("source/foo.zip", ArtifactStore.Content.of(file));
+
+			server.takeRequest();
+			for (int i = 0; i < 2; i++)
+			{
+				Assert.assertNotNull(server.takeRequest().getHeader("Content-Range"));
+				Assert.assertEquals("HEAD", server.takeRequest().getMethod());
+			}
+			Assert.assertNull(server.takeRequest().getHeader("Content-Range"));
+			Assert.assertEquals("DELETE", server.takeRequest().getMethod());
+
+			// the next file doesn't try ranges at all
+			server.enqueue(new MockResponse().setResponseCode(201));
+			store.put("source/bar.zip", ArtifactStore.Content.of(file));
+			RecordedRequest whole = server.takeRequest();
+			Assert.assertEquals("/repo/source/bar.zip", whole.getPath());
+			Assert.assertNull(whole.getHeader("Content-Range"));
+			Assert.assertEquals(8, server.getRequestCount());
+		}
+		finally
+		{
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testDigest()
+	{
+		Assert.assertEquals("abc=", WebDavArtifactStore.digest("MD5=xyz, sha-256=abc=", "SHA-256"));
+		Assert.assertNull(WebDavArtifactStore.digest("MD5=xyz", "SHA-256"));
+		Assert.assertNull(WebDavArtifactStore.digest(null, "SHA-256"));
+	}
+}